@@ -0,0 +1,78 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.bson.types.ObjectId;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    static List<Employee> employees(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            Employee employee = new Employee("Employee " + index, 20 + index % 40, index % 2 == 0 ? "male" : "female", 30000 + index);
+            employee.setId(new ObjectId().toHexString());
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    static List<Company> companies(int size, List<Employee> employees, int employeesPerCompany) {
+        List<Company> companies = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            List<String> employeesId = new ArrayList<>();
+            for (int offset = 0; offset < employeesPerCompany; offset++) {
+                employeesId.add(employees.get((index * employeesPerCompany + offset) % employees.size()).getId());
+            }
+            Company company = new Company("Company " + index, employeesId);
+            company.setCompanyId(new ObjectId().toHexString());
+            companies.add(company);
+        }
+        return companies;
+    }
+
+    static EmployeeService inMemoryEmployeeService(List<Employee> employees) {
+        Map<String, Employee> employeesById = employees.stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return new EmployeeService() {
+            @Override
+            public List<Employee> getEmployeesById(List<String> employeesId) {
+                return employeesId.stream().map(employeesById::get).filter(Objects::nonNull).collect(Collectors.toList());
+            }
+        };
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+    }
+
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompanyMapperBenchmark {
+    @Param({"1", "100", "1000"})
+    private int companies;
+
+    @Param({"10", "100"})
+    private int employeesPerCompany;
+
+    private final CompanyMapper companyMapper = new CompanyMapper();
+    private List<Company> companyList;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = BenchmarkFixtures.employees(companies * employeesPerCompany);
+        companyList = BenchmarkFixtures.companies(companies, employees, employeesPerCompany);
+        BenchmarkFixtures.inject(companyMapper, "plainCompanyMapper", new PlainCompanyMapper());
+        BenchmarkFixtures.inject(companyMapper, "employeeService", BenchmarkFixtures.inMemoryEmployeeService(employees));
+    }
+
+    @Benchmark
+    public List<CompanyResponse> toResponses() {
+        return companyMapper.toResponses(companyList);
+    }
+}
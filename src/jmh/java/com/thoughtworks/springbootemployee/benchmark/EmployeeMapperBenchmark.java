@@ -0,0 +1,48 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeMapperBenchmark {
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private List<Employee> employees;
+    private List<EmployeeRequest> employeeRequests;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkFixtures.employees(size);
+        employeeRequests = employees.stream()
+                .map(employee -> new EmployeeRequest(employee.getName(), employee.getAge(), employee.getGender(), employee.getSalary()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> toResponse() {
+        return employees.stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> toEntity() {
+        return employeeRequests.stream().map(employeeMapper::toEntity).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,102 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"json", "json+gzip", "cbor", "cbor+gzip", "smile", "smile+gzip"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private Page<EmployeeResponse> employeePage;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = format.split("\\+");
+        objectMapper = BenchmarkFixtures.objectMapper(factory(parts[0]));
+        gzip = parts.length > 1;
+        EmployeeMapper employeeMapper = new EmployeeMapper();
+        List<EmployeeResponse> employees = BenchmarkFixtures.employees(size).stream()
+                .map(employeeMapper::toResponse)
+                .collect(Collectors.toList());
+        employeePage = new PageImpl<>(employees, PageRequest.of(0, size), size * 10L);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encodeEmployeePage(PayloadSize payloadSize) throws IOException {
+        byte[] payload = encode();
+        payloadSize.payloadBytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public JsonNode decodeEmployeePage() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(encoded);
+        return objectMapper.readTree(gzip ? new GZIPInputStream(inputStream) : inputStream);
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+                objectMapper.writeValue(gzipOutputStream, employeePage);
+            }
+        } else {
+            objectMapper.writeValue(outputStream, employeePage);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+    private Page<EmployeeResponse> employeePage;
+
+    @Setup
+    public void setUp() {
+        EmployeeMapper employeeMapper = new EmployeeMapper();
+        List<EmployeeResponse> employees = BenchmarkFixtures.employees(size).stream()
+                .map(employeeMapper::toResponse)
+                .collect(Collectors.toList());
+        employeePage = new PageImpl<>(employees, PageRequest.of(0, size), size * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeePage);
+    }
+}
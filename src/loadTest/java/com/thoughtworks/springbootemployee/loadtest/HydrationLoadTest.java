@@ -0,0 +1,146 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.CompanyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public abstract class HydrationLoadTest {
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Value("${company.hydration:lookup}")
+    private String hydration;
+    @Value("${loadtest.employees:5000}")
+    private int employeesCount;
+    @Value("${loadtest.companies:500}")
+    private int companiesCount;
+    @Value("${loadtest.employees-per-company:20}")
+    private int employeesPerCompany;
+    @Value("${loadtest.threads:16}")
+    private int threads;
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+    @Value("${loadtest.report-dir:build/reports/load-test}")
+    private String reportDir;
+
+    private List<String> companiesId;
+
+    @AfterEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_measure_hydration_when_reading_companies_given_seeded_dataset() throws Exception {
+        //given
+        seed();
+        String strategy = hydration + (readsThroughEmployeeCache() ? " (employees cached)" : " (uncached)");
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        //when
+        drive(strategy, new LatencyRecorder(), warmupSeconds);
+        drive(strategy, recorder, durationSeconds);
+
+        //then
+        report(recorder);
+        assertEquals(0, recorder.totalErrors());
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        List<Employee> employees = IntStream.range(0, employeesCount)
+                .mapToObj(index -> new Employee("Employee" + index, 18 + random.nextInt(47), index % 2 == 0 ? "male" : "female", 3000 + random.nextInt(97000)))
+                .collect(Collectors.toList());
+        List<String> employeesId = employeeRepository.insert(employees).stream()
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+
+        List<Company> companies = IntStream.range(0, companiesCount)
+                .mapToObj(index -> new Company("Company" + index, IntStream.range(0, employeesPerCompany)
+                        .mapToObj(member -> employeesId.get(random.nextInt(employeesId.size())))
+                        .distinct()
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        companiesId = companyRepository.insert(companies).stream()
+                .map(Company::getCompanyId)
+                .collect(Collectors.toList());
+    }
+
+    private void drive(String strategy, LatencyRecorder recorder, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    String companyId = companiesId.get(ThreadLocalRandom.current().nextInt(companiesId.size()));
+                    long start = System.nanoTime();
+                    boolean error = false;
+                    try {
+                        companyService.getCompanyWithEmployees(companyId);
+                    } catch (Exception exception) {
+                        error = true;
+                    }
+                    recorder.record(strategy, System.nanoTime() - start, error);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    protected abstract String reportName();
+
+    private boolean readsThroughEmployeeCache() {
+        return !CompanyService.LOOKUP_HYDRATION.equals(hydration) && !(cacheManager instanceof NoOpCacheManager);
+    }
+
+    private void report(LatencyRecorder recorder) throws IOException {
+        Path directory = Paths.get(reportDir);
+        List<String> summary = new ArrayList<>(Collections.singletonList(String.format(
+                "company hydration, %d employees, %d companies, %d members each, %d threads, %d s",
+                employeesCount, companiesCount, employeesPerCompany, threads, durationSeconds)));
+        summary.addAll(recorder.report(durationSeconds));
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(reportName() + "-summary.txt"), summary, StandardCharsets.UTF_8);
+        recorder.writeCsv(directory.resolve(reportName() + "-results.csv"), durationSeconds);
+        summary.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,126 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LatencyRecorder {
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean error) {
+        Endpoint recorded = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        recorded.latencies.add(elapsedNanos);
+        if (error) {
+            recorded.errors.incrementAndGet();
+        }
+    }
+
+    void recordClientError(String endpoint, long elapsedNanos) {
+        Endpoint recorded = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        recorded.latencies.add(elapsedNanos);
+        recorded.clientErrors.incrementAndGet();
+    }
+
+    void recordRejected(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).rejected.incrementAndGet();
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(Endpoint::requests).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.errors.get()).sum();
+    }
+
+    long totalClientErrors() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.clientErrors.get()).sum();
+    }
+
+    long totalRejected() {
+        return endpoints.values().stream().mapToLong(endpoint -> endpoint.rejected.get()).sum();
+    }
+
+    List<String> report(double durationSeconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-45s %8s %7s %7s %8s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "4xx", "rejected", "rej %", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    List<Long> latencies = new ArrayList<>(entry.getValue().latencies);
+                    Collections.sort(latencies);
+                    lines.add(String.format("%-45s %8d %7d %7d %8d %7.2f %10.1f %9.2f %9.2f %9.2f %9.2f",
+                            entry.getKey(),
+                            entry.getValue().requests(),
+                            entry.getValue().errors.get(),
+                            entry.getValue().clientErrors.get(),
+                            entry.getValue().rejected.get(),
+                            100 * entry.getValue().rejectionRate(),
+                            latencies.size() / durationSeconds,
+                            percentile(latencies, 0.5),
+                            percentile(latencies, 0.95),
+                            percentile(latencies, 0.99),
+                            percentile(latencies, 1.0)));
+                });
+        return lines;
+    }
+
+    void writeCsv(Path file, double durationSeconds) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.println("endpoint,requests,errors,client_errors,rejected,rejection_rate,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            endpoints.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        List<Long> latencies = new ArrayList<>(entry.getValue().latencies);
+                        Collections.sort(latencies);
+                        writer.printf("\"%s\",%d,%d,%d,%d,%.4f,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                                entry.getKey(),
+                                entry.getValue().requests(),
+                                entry.getValue().errors.get(),
+                                entry.getValue().clientErrors.get(),
+                                entry.getValue().rejected.get(),
+                                entry.getValue().rejectionRate(),
+                                latencies.size() / durationSeconds,
+                                percentile(latencies, 0.5),
+                                percentile(latencies, 0.95),
+                                percentile(latencies, 0.99),
+                                percentile(latencies, 1.0));
+                    });
+        }
+    }
+
+    private static double percentile(List<Long> sortedLatencies, double percentile) {
+        if (sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    private static class Endpoint {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong clientErrors = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private long requests() {
+            return latencies.size() + rejected.get();
+        }
+
+        private double rejectionRate() {
+            return (double) rejected.get() / Math.max(requests(), 1);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoadTest {
+    private static final String[] GENDERS = {"male", "female"};
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Value("${loadtest.employees:5000}")
+    private int employeesCount;
+    @Value("${loadtest.companies:500}")
+    private int companiesCount;
+    @Value("${loadtest.employees-per-company:20}")
+    private int employeesPerCompany;
+    @Value("${loadtest.threads:16}")
+    private int threads;
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+    @Value("${loadtest.max-error-rate:0.001}")
+    private double maxErrorRate;
+    @Value("${loadtest.max-rejection-rate:0.01}")
+    private double maxRejectionRate;
+    @Value("${loadtest.report-dir:build/reports/load-test}")
+    private String reportDir;
+
+    private final ConcurrentLinkedQueue<String> createdEmployeesId = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> createdCompaniesId = new ConcurrentLinkedQueue<>();
+    private List<String> employeesId;
+    private List<String> companiesId;
+
+    @AfterEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_stay_under_error_budget_when_driving_mixed_traffic_given_seeded_dataset() throws Exception {
+        //given
+        seed();
+        List<Operation> operations = operations();
+
+        //when
+        drive(operations, new LatencyRecorder(), warmupSeconds);
+        LatencyRecorder recorder = new LatencyRecorder();
+        drive(operations, recorder, durationSeconds);
+
+        //then
+        report(recorder);
+        double errorRate = (double) recorder.totalErrors() / Math.max(recorder.totalRequests(), 1);
+        double rejectionRate = (double) recorder.totalRejected() / Math.max(recorder.totalRequests(), 1);
+        assertTrue(errorRate <= maxErrorRate, "Error rate " + errorRate + " exceeds " + maxErrorRate);
+        assertTrue(rejectionRate <= maxRejectionRate, "Rejection rate " + rejectionRate + " exceeds " + maxRejectionRate);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        List<Employee> employees = IntStream.range(0, employeesCount)
+                .mapToObj(index -> new Employee("Employee" + index, 18 + random.nextInt(47), GENDERS[index % 2], 3000 + random.nextInt(97000)))
+                .collect(Collectors.toList());
+        employeesId = employeeRepository.insert(employees).stream()
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+
+        List<Company> companies = IntStream.range(0, companiesCount)
+                .mapToObj(index -> new Company("Company" + index, IntStream.range(0, employeesPerCompany)
+                        .mapToObj(member -> employeesId.get(random.nextInt(employeesId.size())))
+                        .distinct()
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        companiesId = companyRepository.insert(companies).stream()
+                .map(Company::getCompanyId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Operation> operations() {
+        return Arrays.asList(
+                new Operation("GET /employees", 1, random -> get("/employees")),
+                new Operation("GET /employees?gender", 1, random -> get("/employees?gender=" + GENDERS[random.nextInt(2)])),
+                new Operation("GET /employees?page&pageSize", 5, random -> get("/employees?page=" + (1 + random.nextInt(10)) + "&pageSize=20")),
+                new Operation("GET /employees?limit", 5, random -> get("/employees?limit=50")),
+                new Operation("GET /employees?after&limit", 3, random -> get("/employees?limit=50&after=" + CursorCodec.encode(anyEmployee(random)))),
+                new Operation("GET /employees (ndjson)", 1, random -> ndjson("/employees")),
+                new Operation("GET /employees?gender (ndjson)", 1, random -> ndjson("/employees?gender=" + GENDERS[random.nextInt(2)])),
+                new Operation("GET /employees/stats", 2, random -> get("/employees/stats?groupBy=gender")),
+                new Operation("GET /employees/{id}", 15, random -> get("/employees/" + anyEmployee(random))),
+                new Operation("GET /employees/{id}/companies", 5, random -> get("/employees/" + anyEmployee(random) + "/companies")),
+                new Operation("GET /companies", 2, random -> get("/companies")),
+                new Operation("GET /companies?page&pageSize&expand", 5, random -> get("/companies?page=" + (1 + random.nextInt(10)) + "&pageSize=20&expand=employees")),
+                new Operation("GET /companies?limit", 5, random -> get("/companies?limit=20")),
+                new Operation("GET /companies?after&limit", 3, random -> get("/companies?limit=20&after=" + CursorCodec.encode(anyCompany(random)))),
+                new Operation("GET /companies/{id}?expand", 15, random -> get("/companies/" + anyCompany(random) + "?expand=employees")),
+                new Operation("GET /companies/{id}/employees", 10, random -> get("/companies/" + anyCompany(random) + "/employees")),
+                new Operation("GET /companies/{id}/stats", 4, random -> get("/companies/" + anyCompany(random) + "/stats")),
+                new Operation("POST /employees", 4, random -> json(HttpMethod.POST, "/employees", employeeJson(random))),
+                new Operation("POST /employees/batch", 1, random -> json(HttpMethod.POST, "/employees/batch",
+                        IntStream.range(0, 10).mapToObj(index -> employeeJson(random)).collect(Collectors.joining(",", "[", "]")))),
+                new Operation("POST /employees/batch (ndjson)", 1, random -> RequestEntity.post(URI.create("/employees/batch"))
+                        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                        .body(IntStream.range(0, 10).mapToObj(index -> employeeJson(random)).collect(Collectors.joining("\n", "", "\n")))),
+                new Operation("PUT /employees/{id}", 3, random -> json(HttpMethod.PUT, "/employees/" + anyEmployee(random), employeeJson(random))),
+                new Operation("PATCH /employees/{id}", 4, random -> json(HttpMethod.PATCH, "/employees/" + anyEmployee(random),
+                        "{\"salary\": " + (3000 + random.nextInt(97000)) + "}")),
+                new Operation("DELETE /employees/{id}", 2, random -> deleteCreated(createdEmployeesId, "/employees/")),
+                new Operation("POST /companies", 1, random -> json(HttpMethod.POST, "/companies",
+                        "{\"companyName\": \"Company\", \"employeesId\": [\"" + anyEmployee(random) + "\"]}")),
+                new Operation("PUT /companies/{id}", 1, random -> json(HttpMethod.PUT, "/companies/" + anyCompany(random),
+                        "{\"companyName\": \"Company" + random.nextInt(1000) + "\", \"employeesId\": [\"" + anyEmployee(random) + "\"]}")),
+                new Operation("DELETE /companies/{id}", 1, random -> deleteCreated(createdCompaniesId, "/companies/")),
+                new Operation("PATCH /companies/{id}", 2, random -> json(HttpMethod.PATCH, "/companies/" + anyCompany(random),
+                        "{\"companyName\": \"Company" + random.nextInt(1000) + "\"}")),
+                new Operation("POST /companies/{id}/employees/{employeeId}", 3, random -> RequestEntity
+                        .post(URI.create("/companies/" + anyCompany(random) + "/employees/" + anyEmployee(random))).build()),
+                new Operation("POST /companies/{id}/employees", 1, random -> json(HttpMethod.POST, "/companies/" + anyCompany(random) + "/employees",
+                        "[\"" + anyEmployee(random) + "\", \"" + anyEmployee(random) + "\"]")),
+                new Operation("DELETE /companies/{id}/employees/{employeeId}", 2, random -> RequestEntity
+                        .delete(URI.create("/companies/" + anyCompany(random) + "/employees/" + anyEmployee(random))).build()),
+                new Operation("DELETE /companies/{id}/employees?employeesId", 1, random -> RequestEntity
+                        .delete(URI.create("/companies/" + anyCompany(random) + "/employees?employeesId=" + anyEmployee(random) + "," + anyEmployee(random))).build()));
+    }
+
+    private void drive(List<Operation> operations, LatencyRecorder recorder, int seconds) throws InterruptedException {
+        int totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int thread = 0; thread < threads; thread++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(pick(operations, totalWeight), recorder);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+
+    private Operation pick(List<Operation> operations, int totalWeight) {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void execute(Operation operation, LatencyRecorder recorder) {
+        RequestEntity<?> request = operation.request.apply(ThreadLocalRandom.current());
+        if (request == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(request, String.class);
+            long elapsedNanos = System.nanoTime() - start;
+            if (response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                recorder.recordRejected(operation.name);
+                return;
+            }
+            if (response.getStatusCode().is4xxClientError()) {
+                recorder.recordClientError(operation.name, elapsedNanos);
+                return;
+            }
+            recorder.record(operation.name, elapsedNanos, response.getStatusCode().is5xxServerError());
+            if (operation.name.equals("POST /employees") && response.getStatusCode().is2xxSuccessful()) {
+                createdEmployeesId.add(extractId(response.getBody(), "id"));
+            }
+            if (operation.name.equals("POST /companies") && response.getStatusCode().is2xxSuccessful()) {
+                createdCompaniesId.add(extractId(response.getBody(), "companyId"));
+            }
+        } catch (RuntimeException exception) {
+            recorder.record(operation.name, System.nanoTime() - start, true);
+        }
+    }
+
+    private RequestEntity<?> deleteCreated(ConcurrentLinkedQueue<String> createdId, String uri) {
+        String id = createdId.poll();
+        return id == null ? null : RequestEntity.delete(URI.create(uri + id)).build();
+    }
+
+    private void report(LatencyRecorder recorder) throws IOException {
+        Path directory = Paths.get(reportDir);
+        List<String> summary = new ArrayList<>(Collections.singletonList(String.format(
+                "%d employees, %d companies, %d threads, %d s: %d requests, %d errors, %d 4xx, %d rejected, %.1f req/s",
+                employeesCount, companiesCount, threads, durationSeconds, recorder.totalRequests(), recorder.totalErrors(),
+                recorder.totalClientErrors(), recorder.totalRejected(), recorder.totalRequests() / (double) durationSeconds)));
+        summary.addAll(recorder.report(durationSeconds));
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("summary.txt"), summary, StandardCharsets.UTF_8);
+        recorder.writeCsv(directory.resolve("results.csv"), durationSeconds);
+        summary.forEach(System.out::println);
+    }
+
+    private String anyEmployee(Random random) {
+        return employeesId.get(random.nextInt(employeesId.size()));
+    }
+
+    private String anyCompany(Random random) {
+        return companiesId.get(random.nextInt(companiesId.size()));
+    }
+
+    private static String employeeJson(Random random) {
+        return "{\"name\": \"Employee\", \"age\": " + (18 + random.nextInt(47)) + ", \"gender\": \"" + GENDERS[random.nextInt(2)]
+                + "\", \"salary\": " + (3000 + random.nextInt(97000)) + "}";
+    }
+
+    private static String extractId(String body, String field) {
+        String key = "\"" + field + "\":\"";
+        int start = body.indexOf(key) + key.length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private static RequestEntity<?> get(String uri) {
+        return RequestEntity.get(URI.create(uri)).build();
+    }
+
+    private static RequestEntity<?> ndjson(String uri) {
+        return RequestEntity.get(URI.create(uri)).accept(MediaType.parseMediaType("application/x-ndjson")).build();
+    }
+
+    private static RequestEntity<?> json(HttpMethod method, String uri, String body) {
+        return RequestEntity.method(method, URI.create(uri)).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static class Operation {
+        private final String name;
+        private final int weight;
+        private final Function<Random, RequestEntity<?>> request;
+
+        Operation(String name, int weight, Function<Random, RequestEntity<?>> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "company.hydration=lookup")
+public class LookupHydrationLoadTest extends HydrationLoadTest {
+    @Override
+    protected String reportName() {
+        return "hydration-lookup";
+    }
+}
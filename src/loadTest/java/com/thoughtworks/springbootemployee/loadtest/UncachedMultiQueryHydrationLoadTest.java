@@ -0,0 +1,11 @@
+package com.thoughtworks.springbootemployee.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"company.hydration=multi-query", "spring.cache.type=none"})
+public class UncachedMultiQueryHydrationLoadTest extends HydrationLoadTest {
+    @Override
+    protected String reportName() {
+        return "hydration-multi-query-uncached";
+    }
+}
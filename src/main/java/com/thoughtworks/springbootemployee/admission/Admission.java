@@ -0,0 +1,18 @@
+package com.thoughtworks.springbootemployee.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Admission {
+    String LISTING = "listing";
+    String LOOKUP = "lookup";
+    String WRITE = "write";
+
+    String value();
+}
@@ -0,0 +1,95 @@
+package com.thoughtworks.springbootemployee.admission;
+
+import com.thoughtworks.springbootemployee.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdmissionGroup {
+    private final String name;
+    private final Semaphore semaphore;
+    private final TokenBucket tokenBucket;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+    private final Timer waitTimer;
+
+    public AdmissionGroup(String name, int maxConcurrent, long maxWaitMs, double permitsPerSecond, int burst,
+                          long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.semaphore = new Semaphore(maxConcurrent, true);
+        this.tokenBucket = permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, burst) : null;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.admitted = outcome(meterRegistry, "admitted");
+        this.rateLimited = outcome(meterRegistry, "rate_limited");
+        this.concurrencyLimited = outcome(meterRegistry, "concurrency_limited");
+        this.waitTimer = Timer.builder("admission.wait").tag("group", name).register(meterRegistry);
+        Gauge.builder("admission.active", active, AtomicInteger::get).tag("group", name).register(meterRegistry);
+        Gauge.builder("admission.queued", queued, AtomicInteger::get).tag("group", name).register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Permit admit() {
+        if (tokenBucket != null && !tokenBucket.tryConsume()) {
+            rateLimited.increment();
+            long retryAfter = Math.max(1, (long) Math.ceil(tokenBucket.nanosUntilAvailable() / (double) TimeUnit.SECONDS.toNanos(1)));
+            throw new TooManyRequestsException("Rate limit exceeded for " + name + ".", retryAfter);
+        }
+        if (!acquire()) {
+            concurrencyLimited.increment();
+            throw new TooManyRequestsException("Too many concurrent requests for " + name + ".", retryAfterSeconds);
+        }
+        admitted.increment();
+        active.incrementAndGet();
+        return new Permit();
+    }
+
+    private boolean acquire() {
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+        if (maxWaitMs <= 0) {
+            return false;
+        }
+        queued.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("admission.requests").tag("group", name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    public class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                active.decrementAndGet();
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.admission;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private final Map<String, AdmissionGroup> admissionGroups;
+
+    public AdmissionInterceptor(Collection<AdmissionGroup> admissionGroups) {
+        this.admissionGroups = admissionGroups.stream().collect(Collectors.toMap(AdmissionGroup::getName, Function.identity()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdmissionGroup admissionGroup = groupOf(handler);
+        if (admissionGroup == null || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, admissionGroup.admit());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        AdmissionGroup.Permit permit = (AdmissionGroup.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            permit.release();
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+        }
+    }
+
+    private AdmissionGroup groupOf(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        Admission admission = ((HandlerMethod) handler).getMethodAnnotation(Admission.class);
+        if (admission == null) {
+            return null;
+        }
+        AdmissionGroup admissionGroup = admissionGroups.get(admission.value());
+        if (admissionGroup == null) {
+            throw new IllegalStateException("Unknown admission group: " + admission.value() + ".");
+        }
+        return admissionGroup;
+    }
+}
@@ -2,11 +2,17 @@ package com.thoughtworks.springbootemployee.advice;
 
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.exception.TooManyRequestsException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalControllerAdvice {
 
@@ -19,6 +25,9 @@ public class GlobalControllerAdvice {
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler({EmployeeNotFoundException.class})
     public ErrorResponse handleEmployeeNotFound(EmployeeNotFoundException exception) {
+        if (!exception.getMissingEmployeesId().isEmpty()) {
+            return new MissingEmployeesErrorResponse(exception.getMessage(), HttpStatus.NOT_FOUND.name(), exception.getMissingEmployeesId());
+        }
         return new ErrorResponse(exception.getMessage(), HttpStatus.NOT_FOUND.name());
     }
 
@@ -27,4 +36,23 @@ public class GlobalControllerAdvice {
     public ErrorResponse handleCompanyNotFound(CompanyNotFoundException exception) {
         return new ErrorResponse(exception.getMessage(), HttpStatus.NOT_FOUND.name());
     }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ErrorResponse handlePreconditionFailed(OptimisticLockingFailureException exception) {
+        return new ErrorResponse(exception.getMessage(), HttpStatus.PRECONDITION_FAILED.name());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler({RejectedExecutionException.class})
+    public ErrorResponse handleRejectedExecution(RejectedExecutionException exception) {
+        return new ErrorResponse("Server is busy, try again later.", HttpStatus.SERVICE_UNAVAILABLE.name());
+    }
+
+    @ExceptionHandler({TooManyRequestsException.class})
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorResponse(exception.getMessage(), HttpStatus.TOO_MANY_REQUESTS.name()));
+    }
 }
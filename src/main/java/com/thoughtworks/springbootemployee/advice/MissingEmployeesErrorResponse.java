@@ -0,0 +1,16 @@
+package com.thoughtworks.springbootemployee.advice;
+
+import java.util.List;
+
+public class MissingEmployeesErrorResponse extends ErrorResponse {
+    private final List<String> missingEmployeesId;
+
+    public MissingEmployeesErrorResponse(String message, String status, List<String> missingEmployeesId) {
+        super(message, status);
+        this.missingEmployeesId = missingEmployeesId;
+    }
+
+    public List<String> getMissingEmployeesId() {
+        return this.missingEmployeesId;
+    }
+}
@@ -0,0 +1,91 @@
+package com.thoughtworks.springbootemployee.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final Counter executed;
+    private final Counter collapsed;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, boolean enabled, long timeoutMs, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.executed = outcome(meterRegistry, name, "executed");
+        this.collapsed = outcome(meterRegistry, name, "collapsed");
+        this.timedOut = outcome(meterRegistry, name, "timed-out");
+    }
+
+    public <E extends Exception> V execute(K key, Loader<V, E> loader) throws E {
+        if (!enabled) {
+            return loader.load();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            collapsed.increment();
+            return await(leader, loader);
+        }
+        executed.increment();
+        try {
+            V value = loader.load();
+            flight.complete(value);
+            return value;
+        } catch (Exception | Error exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void forget(Predicate<? super K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    public boolean isIdle() {
+        return inFlight.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(CompletableFuture<V> leader, Loader<V, E> loader) throws E {
+        try {
+            return leader.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            timedOut.increment();
+            return loader.load();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return loader.load();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("singleflight.calls").tag("name", name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+}
@@ -0,0 +1,43 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.admission.Admission;
+import com.thoughtworks.springbootemployee.admission.AdmissionGroup;
+import com.thoughtworks.springbootemployee.admission.AdmissionInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private Environment environment;
+    @Value("${admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(Arrays.asList(group(Admission.LISTING), group(Admission.LOOKUP), group(Admission.WRITE))));
+    }
+
+    private AdmissionGroup group(String name) {
+        String prefix = "admission." + name + ".";
+        return new AdmissionGroup(name,
+                environment.getRequiredProperty(prefix + "max-concurrent", Integer.class),
+                environment.getRequiredProperty(prefix + "max-wait-ms", Long.class),
+                environment.getRequiredProperty(prefix + "permits-per-second", Double.class),
+                environment.getRequiredProperty(prefix + "burst", Integer.class),
+                retryAfterSeconds, meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.coalescing.SingleFlight;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.TaggedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CoalescingConfig {
+    public static final String COMPANY_READS = "companyReads";
+    public static final String COMPANY_EMPLOYEES_READS = "companyEmployeesReads";
+    public static final String EMPLOYEE_READS = "employeeReads";
+
+    @Value("${coalescing.enabled:true}")
+    private boolean enabled;
+    @Value("${coalescing.timeout-ms:1000}")
+    private long timeoutMs;
+
+    @Bean(COMPANY_READS)
+    public SingleFlight<String, TaggedResponse<CompanyResponse>> companyReads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("company", enabled, timeoutMs, meterRegistry);
+    }
+
+    @Bean(COMPANY_EMPLOYEES_READS)
+    public SingleFlight<String, List<EmployeeResponse>> companyEmployeesReads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("company.employees", enabled, timeoutMs, meterRegistry);
+    }
+
+    @Bean(EMPLOYEE_READS)
+    public SingleFlight<String, TaggedResponse<EmployeeResponse>> employeeReads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("employee", enabled, timeoutMs, meterRegistry);
+    }
+}
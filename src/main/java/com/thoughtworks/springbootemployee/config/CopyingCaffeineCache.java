@@ -0,0 +1,32 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+class CopyingCaffeineCache extends CaffeineCache {
+    CopyingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(copy(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy(super.fromStoreValue(storeValue));
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Employee) {
+            return new Employee((Employee) value);
+        }
+        if (value instanceof Company) {
+            return new Company((Company) value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+final class FieldsetEncoders {
+    private static final String FILTERS_HINT = FieldsetEncoders.class.getName() + ".filters";
+    private static final byte[] NEWLINE_SEPARATOR = {'\n'};
+
+    private FieldsetEncoders() {
+    }
+
+    static class Json extends Jackson2JsonEncoder {
+        Json(ObjectMapper mapper, MimeType... mimeTypes) {
+            super(mapper, mimeTypes);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            if (inputStream instanceof Mono || !MappingJacksonValue.class.isAssignableFrom(elementType.toClass())) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            if (mimeType != null && getStreamingMediaTypes().stream().anyMatch(mediaType -> mediaType.isCompatibleWith(mimeType))) {
+                return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints).write(NEWLINE_SEPARATOR));
+            }
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(values -> encodeValue(join(values), bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+
+        @Override
+        public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            Object body = unwrap(value);
+            return super.encodeValue(body, bufferFactory, body == value ? valueType : ResolvableType.forInstance(body), mimeType, hintsOf(value, hints));
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType, ResolvableType elementType,
+                                               @Nullable Map<String, Object> hints) {
+            return withFilters(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    static class Cbor extends Jackson2CborEncoder {
+        Cbor(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            Object body = unwrap(value);
+            return super.encodeValue(body, bufferFactory, body == value ? valueType : ResolvableType.forInstance(body), mimeType, hintsOf(value, hints));
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType, ResolvableType elementType,
+                                               @Nullable Map<String, Object> hints) {
+            return withFilters(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    static class Smile extends Jackson2SmileEncoder {
+        Smile(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            Object body = unwrap(value);
+            return super.encodeValue(body, bufferFactory, body == value ? valueType : ResolvableType.forInstance(body), mimeType, hintsOf(value, hints));
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType, ResolvableType elementType,
+                                               @Nullable Map<String, Object> hints) {
+            return withFilters(super.customizeWriter(writer, mimeType, elementType, hints), hints);
+        }
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof MappingJacksonValue ? ((MappingJacksonValue) value).getValue() : value;
+    }
+
+    private static Map<String, Object> hintsOf(Object value, @Nullable Map<String, Object> hints) {
+        if (!(value instanceof MappingJacksonValue) || ((MappingJacksonValue) value).getFilters() == null) {
+            return hints;
+        }
+        return Hints.merge(hints == null ? Hints.none() : hints, FILTERS_HINT, ((MappingJacksonValue) value).getFilters());
+    }
+
+    private static ObjectWriter withFilters(ObjectWriter writer, @Nullable Map<String, Object> hints) {
+        FilterProvider filters = hints == null ? null : (FilterProvider) hints.get(FILTERS_HINT);
+        return filters == null ? writer : writer.with(filters);
+    }
+
+    private static MappingJacksonValue join(List<?> values) {
+        MappingJacksonValue joined = new MappingJacksonValue(values.stream().map(FieldsetEncoders::unwrap).collect(Collectors.toList()));
+        if (!values.isEmpty()) {
+            joined.setFilters(((MappingJacksonValue) values.get(0)).getFilters());
+        }
+        return joined;
+    }
+}
@@ -0,0 +1,73 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+public class IndexVerifier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexVerifier.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+    @Value("${employee.indexes.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        List<String> missingIndexes = new ArrayList<>();
+        for (Class<?> entityType : Arrays.asList(Employee.class, Company.class)) {
+            missingIndexes.addAll(findMissingIndexes(entityType));
+        }
+        if (missingIndexes.isEmpty()) {
+            return;
+        }
+
+        String message = "Missing Mongo indexes: " + missingIndexes;
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    private List<String> findMissingIndexes(Class<?> entityType) {
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        Set<List<String>> existingIndexKeys = mongoTemplate.indexOps(entityType).getIndexInfo().stream()
+                .map(this::toIndexKeys)
+                .collect(Collectors.toSet());
+        String collectionName = mongoTemplate.getCollectionName(entityType);
+
+        return StreamSupport.stream(indexResolver.resolveIndexFor(entityType).spliterator(), false)
+                .map(indexDefinition -> new ArrayList<>(indexDefinition.getIndexKeys().keySet()))
+                .filter(indexKeys -> !existingIndexKeys.contains(indexKeys))
+                .map(indexKeys -> collectionName + indexKeys)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> toIndexKeys(IndexInfo indexInfo) {
+        return indexInfo.getIndexFields().stream()
+                .map(IndexField::getKey)
+                .collect(Collectors.toList());
+    }
+}
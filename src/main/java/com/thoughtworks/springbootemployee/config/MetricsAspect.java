@@ -0,0 +1,64 @@
+package com.thoughtworks.springbootemployee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Aspect
+@Component
+public class MetricsAspect {
+    private static final String REPOSITORY_PACKAGE = "com.thoughtworks.springbootemployee.repository";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("within(com.thoughtworks.springbootemployee.service..*) " +
+            "&& !within(com.thoughtworks.springbootemployee.service..Reactive*)")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service.calls", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("within(com.thoughtworks.springbootemployee.mapper..*) " +
+            "&& !within(com.thoughtworks.springbootemployee.mapper..Reactive*) " +
+            "&& @within(org.springframework.stereotype.Component)")
+    public Object timeMapperCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("mapper.calls", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("this(com.thoughtworks.springbootemployee.repository.EmployeeRepository) " +
+            "|| this(com.thoughtworks.springbootemployee.repository.CompanyRepository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("repository.calls", repositoryName(joinPoint.getThis()), joinPoint);
+    }
+
+    private Object time(String metricName, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(metricName)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(Object repository) {
+        return Arrays.stream(repository.getClass().getInterfaces())
+                .filter(type -> type.getName().startsWith(REPOSITORY_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(repository.getClass().getSimpleName());
+    }
+}
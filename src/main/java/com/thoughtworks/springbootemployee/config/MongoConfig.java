@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.thoughtworks.springbootemployee.monitoring.MongoCommandMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+
+@Configuration
+@EnableMongoAuditing
+public class MongoConfig {
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMetricsCustomizer(MeterRegistry meterRegistry) {
+        return builder -> builder.addCommandListener(new MongoMetricsCommandListener(meterRegistry));
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMonitorCustomizer(MongoCommandMonitor mongoCommandMonitor) {
+        return builder -> builder.addCommandListener(mongoCommandMonitor);
+    }
+}
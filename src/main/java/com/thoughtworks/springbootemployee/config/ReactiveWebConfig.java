@@ -0,0 +1,44 @@
+package com.thoughtworks.springbootemployee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.thoughtworks.springbootemployee.controller.EmployeeController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.util.Arrays;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(EmployeeController.APPLICATION_NDJSON_VALUE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        Jackson2JsonEncoder jsonEncoder = new FieldsetEncoders.Json(objectMapper,
+                MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), APPLICATION_NDJSON);
+        jsonEncoder.setStreamingMediaTypes(Arrays.asList(APPLICATION_NDJSON, MediaType.APPLICATION_STREAM_JSON));
+        configurer.defaultCodecs().jackson2JsonEncoder(jsonEncoder);
+
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        configurer.customCodecs().register(new FieldsetEncoders.Cbor(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        configurer.customCodecs().register(new FieldsetEncoders.Smile(smileMapper));
+        configurer.customCodecs().register(new Jackson2SmileDecoder(smileMapper));
+    }
+}
@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.thoughtworks.springbootemployee.dto.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public List<CacheStatsResponse> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private CacheStatsResponse toResponse(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsResponse(cache.getName(), cache.getNativeCache().estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
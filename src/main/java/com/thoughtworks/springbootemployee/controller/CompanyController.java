@@ -1,26 +1,51 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.thoughtworks.springbootemployee.admission.Admission;
+import com.thoughtworks.springbootemployee.coalescing.SingleFlight;
+import com.thoughtworks.springbootemployee.config.CoalescingConfig;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CursorSliceResponse;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.TaggedResponse;
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.fieldset.Expansions;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
 import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
 import com.thoughtworks.springbootemployee.service.CompanyService;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/companies")
+@Profile("!reactive")
 public class CompanyController {
     private final List<Company> companies = new ArrayList<>();
     @Autowired
@@ -29,46 +54,211 @@ public class CompanyController {
     private CompanyMapper companyMapper;
     @Autowired
     private EmployeeMapper employeeMapper;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_READS)
+    private SingleFlight<String, TaggedResponse<CompanyResponse>> companyReads;
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_EMPLOYEES_READS)
+    private SingleFlight<String, List<EmployeeResponse>> companyEmployeesReads;
+    @Value("${company.assembly.timeout-ms:5000}")
+    private long assemblyTimeoutMs;
+
+    @GetMapping(params = "expand!=" + Expansions.EMPLOYEES)
+    @Admission(Admission.LISTING)
+    public MappingJacksonValue getCompanies(@RequestParam(required = false) List<String> fields, @RequestParam(required = false) List<String> expand) {
+        Expansions.requireNone(expand);
+        Set<String> selectedFields = Fieldset.parse(fields, CompanyResponse.FIELDS);
+        Set<String> entityFields = companyMapper.toEntityFields(selectedFields);
+        if (entityFields.isEmpty() || entityFields.contains("employeesId")) {
+            List<CompanyResponse> companies = this.companyService.getCompanySummaries().stream().map(companyMapper::toResponse).collect(Collectors.toList());
+            return Fieldset.apply(companies, selectedFields);
+        }
+        List<Company> companies = this.companyService.getCompanies(entityFields);
+        return Fieldset.apply(companies.stream().map(companyMapper::toSummaryResponse).collect(Collectors.toList()), selectedFields);
+    }
 
-    @GetMapping
-    public List<CompanyResponse> getCompanies() {
-        List<Company> companies = this.companyService.getCompanies();
-        return companies.stream().map(companyMapper::toResponse).collect(Collectors.toList());
+    @GetMapping(params = "expand=" + Expansions.EMPLOYEES)
+    @Admission(Admission.LISTING)
+    public DeferredResult<MappingJacksonValue> getExpandedCompanies(@RequestParam(required = false) List<String> fields, @RequestParam List<String> expand) {
+        Expansions.expandsEmployees(expand);
+        Set<String> selectedFields = Fieldset.parse(fields, CompanyResponse.FIELDS);
+        Set<String> entityFields = companyMapper.toEntityFields(selectedFields);
+        return DeferredResults.of(companyMapper.fetchAsync(() -> this.companyService.getCompanies(entityFields))
+                .thenCompose(companyMapper::toResponsesAsync)
+                .thenApply(responses -> Fieldset.apply(responses, selectedFields)), assemblyTimeoutMs);
     }
 
     @GetMapping("/{companyId}")
-    public CompanyResponse getCompany(@PathVariable String companyId) throws CompanyNotFoundException {
-        return companyMapper.toResponse(this.companyService.getCompany(companyId));
+    @Admission(Admission.LOOKUP)
+    public ResponseEntity<MappingJacksonValue> getCompany(@PathVariable String companyId, @RequestParam(required = false) List<String> fields,
+                                                          @RequestParam(required = false) List<String> expand, WebRequest webRequest) throws CompanyNotFoundException {
+        Set<String> selectedFields = Fieldset.parse(fields, CompanyResponse.FIELDS);
+        boolean expandsEmployees = Expansions.expandsEmployees(expand);
+        if (EntityTags.isConditional(webRequest)) {
+            Company current = companyService.getCompanyVersion(companyId);
+            if (expandsEmployees) {
+                List<Employee> employees = getEmployeeVersions(current);
+                if (webRequest.checkNotModified(EntityTags.of(current.getVersion(), employees, selectedFields),
+                        EntityTags.lastModified(current.getLastModifiedDate(), employees))) {
+                    return null;
+                }
+            } else if (webRequest.checkNotModified(EntityTags.of(current.getVersion(), selectedFields), EntityTags.lastModified(current.getLastModifiedDate()))) {
+                return null;
+            }
+        }
+        String key = companyId + "|" + (expandsEmployees ? Expansions.EMPLOYEES : "") + "|" + Fieldset.key(selectedFields);
+        return EntityTags.ok(companyReads.execute(key, () -> loadCompany(companyId, expandsEmployees, selectedFields)), selectedFields);
     }
 
     @GetMapping("/{companyId}/employees")
+    @Admission(Admission.LOOKUP)
     public List<EmployeeResponse> getEmployees(@PathVariable String companyId) throws CompanyNotFoundException {
-        List<Employee> employeeList = companyService.getEmployeeList(companyId);
-        return employeeList.stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+        return companyEmployeesReads.execute(companyId, () -> {
+            List<Employee> employeeList = companyService.getEmployeeList(companyId);
+            return employeeList.stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+        });
+    }
+
+    @GetMapping("/{companyId}/stats")
+    @Admission(Admission.LISTING)
+    public SalaryStatistics getCompanyStatistics(@PathVariable String companyId) throws CompanyNotFoundException {
+        return companyService.getCompanyStatistics(companyId);
+    }
+
+    @GetMapping(params = {"page", "pageSize", "expand!=" + Expansions.EMPLOYEES})
+    @Admission(Admission.LISTING)
+    public Page<CompanyResponse> getEmployeesInPage(@RequestParam Integer page, @RequestParam Integer pageSize, @RequestParam(required = false) List<String> expand) {
+        Expansions.requireNone(expand);
+        return this.companyService.getCompanySummariesPaginated(page, pageSize).map(companyMapper::toResponse);
     }
 
-    @GetMapping(params = {"page", "pageSize"})
-    public Page<CompanyResponse> getEmployeesInPage(@RequestParam Integer page, @RequestParam Integer pageSize) {
-        Page<Company> companies = this.companyService.getCompaniesPaginated(page, pageSize);
-        return companies.map(companyMapper::toResponse);
+    @GetMapping(params = {"page", "pageSize", "expand=" + Expansions.EMPLOYEES})
+    @Admission(Admission.LISTING)
+    public DeferredResult<Page<CompanyResponse>> getExpandedCompaniesInPage(@RequestParam Integer page, @RequestParam Integer pageSize, @RequestParam List<String> expand) {
+        Expansions.expandsEmployees(expand);
+        return DeferredResults.of(companyMapper.fetchAsync(() -> this.companyService.getCompaniesPaginated(page, pageSize))
+                .thenCompose(companyMapper::toResponsesAsync), assemblyTimeoutMs);
+    }
+
+    @GetMapping(params = {"limit", "expand!=" + Expansions.EMPLOYEES})
+    @Admission(Admission.LISTING)
+    public CursorSliceResponse<CompanyResponse> getCompaniesAfter(@RequestParam(required = false) String after, @RequestParam Integer limit, @RequestParam(required = false) List<String> expand) {
+        Expansions.requireNone(expand);
+        Slice<CompanySummary> companies = this.companyService.getCompanySummariesAfter(after, limit);
+        List<CompanyResponse> content = companies.getContent().stream().map(companyMapper::toResponse).collect(Collectors.toList());
+        return toCursorSlice(content, companies.hasNext());
+    }
+
+    @GetMapping(params = {"limit", "expand=" + Expansions.EMPLOYEES})
+    @Admission(Admission.LISTING)
+    public DeferredResult<CursorSliceResponse<CompanyResponse>> getExpandedCompaniesAfter(@RequestParam(required = false) String after, @RequestParam Integer limit, @RequestParam List<String> expand) {
+        Expansions.expandsEmployees(expand);
+        return DeferredResults.of(companyMapper.fetchAsync(() -> this.companyService.getCompaniesAfter(after, limit))
+                .thenCompose(companies -> companyMapper.toResponsesAsync(companies.getContent())
+                        .thenApply(responses -> toCursorSlice(responses, companies.hasNext()))), assemblyTimeoutMs);
     }
 
     @PostMapping
+    @Admission(Admission.WRITE)
     @ResponseStatus(HttpStatus.CREATED)
     public CompanyResponse createCompany(@RequestBody CompanyRequest companyUpdate) throws EmployeeNotFoundException {
         Company company = companyService.createCompany(companyMapper.toEntity(companyUpdate));
-        return companyMapper.toResponse(companyService.createCompany(company));
+        return companyMapper.toResponse(company);
     }
 
     @PutMapping("/{companyId}")
-    public CompanyResponse updateCompany(@PathVariable String companyId, @RequestBody CompanyRequest companyUpdated) throws CompanyNotFoundException, EmployeeNotFoundException {
-        Company company = companyService.updateCompany(companyId, companyMapper.toEntity(companyUpdated));
-        return companyMapper.toResponse(companyService.createCompany(company));
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> updateCompany(@PathVariable String companyId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestBody CompanyRequest companyUpdated) throws CompanyNotFoundException, EmployeeNotFoundException {
+        Company company = companyService.updateCompany(companyId, companyMapper.toEntity(companyUpdated), EntityTags.version(ifMatch));
+        forgetReads(companyId);
+        return toTaggedResponse(company);
+    }
+
+    @PatchMapping("/{companyId}")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> patchCompany(@PathVariable String companyId, @RequestBody CompanyRequest companyPatch) throws CompanyNotFoundException, EmployeeNotFoundException {
+        Company company = companyService.patchCompany(companyId, companyMapper.toEntity(companyPatch));
+        forgetReads(companyId);
+        return toTaggedResponse(company);
+    }
+
+    @PostMapping("/{companyId}/employees/{employeeId}")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> addEmployee(@PathVariable String companyId, @PathVariable String employeeId) throws CompanyNotFoundException, EmployeeNotFoundException {
+        Company company = companyService.addEmployees(companyId, Collections.singletonList(employeeId));
+        forgetReads(companyId);
+        return toSummaryResponse(company);
+    }
+
+    @PostMapping("/{companyId}/employees")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> addEmployees(@PathVariable String companyId, @RequestBody List<String> employeesId) throws CompanyNotFoundException, EmployeeNotFoundException {
+        Company company = companyService.addEmployees(companyId, employeesId);
+        forgetReads(companyId);
+        return toSummaryResponse(company);
+    }
+
+    @DeleteMapping("/{companyId}/employees/{employeeId}")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> removeEmployee(@PathVariable String companyId, @PathVariable String employeeId) throws CompanyNotFoundException {
+        Company company = companyService.removeEmployees(companyId, Collections.singletonList(employeeId));
+        forgetReads(companyId);
+        return toSummaryResponse(company);
+    }
+
+    @DeleteMapping(value = "/{companyId}/employees", params = "employeesId")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<CompanyResponse> removeEmployees(@PathVariable String companyId, @RequestParam List<String> employeesId) throws CompanyNotFoundException {
+        Company company = companyService.removeEmployees(companyId, employeesId);
+        forgetReads(companyId);
+        return toSummaryResponse(company);
     }
 
     @DeleteMapping("/{companyId}")
+    @Admission(Admission.WRITE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteCompany(@PathVariable String companyId) throws CompanyNotFoundException {
         companyService.deleteCompany(companyId);
+        forgetReads(companyId);
+    }
+
+    private void forgetReads(String companyId) {
+        companyReads.forget(key -> key.startsWith(companyId + "|"));
+        companyEmployeesReads.forget(companyId::equals);
+    }
+
+    private TaggedResponse<CompanyResponse> loadCompany(String companyId, boolean expandsEmployees, Set<String> selectedFields) throws CompanyNotFoundException {
+        if (expandsEmployees) {
+            CompanyWithEmployees company = this.companyService.getCompanyWithEmployees(companyId);
+            List<Employee> employees = company.getEmployees();
+            return new TaggedResponse<>(companyMapper.toResponse(company), EntityTags.of(company.getVersion(), employees, selectedFields),
+                    EntityTags.lastModified(company.getLastModifiedDate(), employees));
+        }
+        Company company = this.companyService.getCompany(companyId);
+        return new TaggedResponse<>(companyMapper.toSummaryResponse(company), EntityTags.of(company.getVersion(), selectedFields),
+                EntityTags.lastModified(company.getLastModifiedDate()));
+    }
+
+    private CursorSliceResponse<CompanyResponse> toCursorSlice(List<CompanyResponse> content, boolean hasNext) {
+        String nextCursor = hasNext ? CursorCodec.encode(content.get(content.size() - 1).getCompanyId()) : null;
+        return new CursorSliceResponse<>(content, hasNext, nextCursor);
+    }
+
+    private ResponseEntity<CompanyResponse> toSummaryResponse(Company company) {
+        return EntityTags.ok(EntityTags.of(company.getVersion(), Collections.emptySet()), EntityTags.lastModified(company.getLastModifiedDate()))
+                .body(companyMapper.toSummaryResponse(company));
+    }
+
+    private ResponseEntity<CompanyResponse> toTaggedResponse(Company company) {
+        List<Employee> employees = getEmployeeVersions(company);
+        return EntityTags.ok(EntityTags.of(company.getVersion(), employees, Collections.emptySet()), EntityTags.lastModified(company.getLastModifiedDate(), employees))
+                .body(companyMapper.toResponse(company));
+    }
+
+    private List<Employee> getEmployeeVersions(Company company) {
+        return employeeService.getEmployeeVersions(PlainCompanyMapper.employeesIdOf(company));
     }
 }
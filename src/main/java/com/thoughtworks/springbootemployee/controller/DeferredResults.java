@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+final class DeferredResults {
+    private DeferredResults() {
+    }
+
+    static <T> DeferredResult<T> of(CompletableFuture<T> future, long timeoutMillis) {
+        DeferredResult<T> deferredResult = new DeferredResult<>(timeoutMillis);
+        deferredResult.onTimeout(() -> future.cancel(true));
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                deferredResult.setResult(result);
+            } else {
+                deferredResult.setErrorResult(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+            }
+        });
+        return deferredResult;
+    }
+}
@@ -1,67 +1,318 @@
 package com.thoughtworks.springbootemployee.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.admission.Admission;
+import com.thoughtworks.springbootemployee.coalescing.SingleFlight;
+import com.thoughtworks.springbootemployee.config.CoalescingConfig;
+import com.thoughtworks.springbootemployee.dto.BatchItemResponse;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.CursorSliceResponse;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.TaggedResponse;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.fieldset.Expansions;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.service.CompanyService;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/employees")
+@Profile("!reactive")
 public class EmployeeController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final List<Employee> employees = new ArrayList<>();
 
     @Autowired
     private EmployeeService employeeService;
     @Autowired
     private EmployeeMapper employeeMapper;
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private CompanyMapper companyMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier(CoalescingConfig.EMPLOYEE_READS)
+    private SingleFlight<String, TaggedResponse<EmployeeResponse>> employeeReads;
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_READS)
+    private SingleFlight<String, TaggedResponse<CompanyResponse>> companyReads;
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_EMPLOYEES_READS)
+    private SingleFlight<String, List<EmployeeResponse>> companyEmployeesReads;
+    @Value("${company.assembly.timeout-ms:5000}")
+    private long assemblyTimeoutMs;
+    @Value("${employee.batch.chunk-size:1000}")
+    private int batchChunkSize;
+    @Value("${employee.batch.max-json-bytes:1048576}")
+    private int batchMaxJsonBytes;
 
     @GetMapping
-    public List<EmployeeResponse> getEmployees() {
-        return employeeService.getEmployees().stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+    @Admission(Admission.LISTING)
+    public MappingJacksonValue getEmployees(@RequestParam(required = false) List<String> fields) {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        List<EmployeeResponse> employees = employeeService.getEmployees(selectedFields).stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+        return Fieldset.apply(employees, selectedFields);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    @Admission(Admission.LISTING)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        return toNdjsonResponse(employeeService::streamEmployees);
+    }
+
+    @GetMapping("/stats")
+    @Admission(Admission.LISTING)
+    public List<SalaryStatistics> getSalaryStatistics(@RequestParam(required = false) String groupBy) {
+        return employeeService.getSalaryStatistics(groupBy);
     }
 
     @GetMapping("/{employeeId}")
-    public EmployeeResponse getEmployee(@PathVariable String employeeId) throws EmployeeNotFoundException {
-        return employeeMapper.toResponse(employeeService.getEmployee(employeeId));
+    @Admission(Admission.LOOKUP)
+    public ResponseEntity<MappingJacksonValue> getEmployee(@PathVariable String employeeId, @RequestParam(required = false) List<String> fields,
+                                                           WebRequest webRequest) throws EmployeeNotFoundException {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        if (EntityTags.isConditional(webRequest)) {
+            Employee current = employeeService.getEmployeeVersion(employeeId);
+            if (webRequest.checkNotModified(EntityTags.of(current.getVersion(), selectedFields), EntityTags.lastModified(current.getLastModifiedDate()))) {
+                return null;
+            }
+        }
+        return EntityTags.ok(employeeReads.execute(employeeId + "|" + Fieldset.key(selectedFields), () -> {
+            Employee employee = employeeService.getEmployee(employeeId);
+            return new TaggedResponse<>(employeeMapper.toResponse(employee), EntityTags.of(employee.getVersion(), selectedFields),
+                    EntityTags.lastModified(employee.getLastModifiedDate()));
+        }), selectedFields);
+    }
+
+    @GetMapping(value = "/{employeeId}/companies", params = "expand!=" + Expansions.EMPLOYEES)
+    @Admission(Admission.LISTING)
+    public Page<CompanyResponse> getCompanies(@PathVariable String employeeId, @RequestParam(defaultValue = "1") Integer page, @RequestParam(defaultValue = "20") Integer pageSize,
+                                              @RequestParam(required = false) List<String> expand) throws EmployeeNotFoundException {
+        Expansions.requireNone(expand);
+        return companyService.getCompanySummariesByEmployee(employeeId, page, pageSize).map(companyMapper::toResponse);
+    }
+
+    @GetMapping(value = "/{employeeId}/companies", params = "expand=" + Expansions.EMPLOYEES)
+    @Admission(Admission.LISTING)
+    public DeferredResult<Page<CompanyResponse>> getExpandedCompanies(@PathVariable String employeeId, @RequestParam(defaultValue = "1") Integer page, @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                      @RequestParam List<String> expand) {
+        Expansions.expandsEmployees(expand);
+        return DeferredResults.of(companyMapper.fetchAsync(() -> companyService.getCompaniesByEmployee(employeeId, page, pageSize))
+                .thenCompose(companyMapper::toResponsesAsync), assemblyTimeoutMs);
     }
 
     @GetMapping(params = "gender")
-    public List<EmployeeResponse> getEmployeesByGender(@RequestParam String gender) {
-        return employeeService.getEmployeesByGender(gender).stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+    @Admission(Admission.LISTING)
+    public MappingJacksonValue getEmployeesByGender(@RequestParam String gender, @RequestParam(required = false) List<String> fields) {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        List<EmployeeResponse> employees = employeeService.getEmployeesByGender(gender, selectedFields).stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+        return Fieldset.apply(employees, selectedFields);
+    }
+
+    @GetMapping(params = "gender", produces = APPLICATION_NDJSON_VALUE)
+    @Admission(Admission.LISTING)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByGender(@RequestParam String gender) {
+        return toNdjsonResponse(() -> employeeService.streamEmployeesByGender(gender));
     }
 
     @GetMapping(params = {"page", "pageSize"})
+    @Admission(Admission.LISTING)
     public Page<EmployeeResponse> getEmployeesInPage(@RequestParam Integer page, @RequestParam Integer pageSize) {
         Page<Employee> employees = this.employeeService.getEmployeesPaginated(page, pageSize);
         return employees.map(employeeMapper::toResponse);
     }
 
+    @GetMapping(params = {"limit", "!gender"})
+    @Admission(Admission.LISTING)
+    public CursorSliceResponse<EmployeeResponse> getEmployeesAfter(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        Slice<Employee> employees = this.employeeService.getEmployeesAfter(after, limit);
+        List<EmployeeResponse> content = employees.getContent().stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+        String nextCursor = employees.hasNext() ? CursorCodec.encode(content.get(content.size() - 1).getId()) : null;
+        return new CursorSliceResponse<>(content, employees.hasNext(), nextCursor);
+    }
+
     @PostMapping
+    @Admission(Admission.WRITE)
     @ResponseStatus(HttpStatus.CREATED)
     public EmployeeResponse createEmployee(@RequestBody EmployeeRequest employeeRequest) {
         Employee employee = employeeService.createEmployee(employeeMapper.toEntity(employeeRequest));
         return employeeMapper.toResponse(employee);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Admission(Admission.WRITE)
+    public List<BatchItemResponse> createEmployees(InputStream body) throws IOException {
+        List<EmployeeRequest> employeeRequests;
+        try {
+            employeeRequests = objectMapper.readValue(readJsonBatch(body), new TypeReference<List<EmployeeRequest>>() {
+            });
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Malformed employee batch.");
+        }
+        List<BatchItemResponse> batchItemResponses = new ArrayList<>();
+        Map<Integer, Employee> chunk = new LinkedHashMap<>();
+        for (int index = 0; index < employeeRequests.size(); index++) {
+            chunk.put(index, employeeMapper.toEntity(employeeRequests.get(index)));
+            if (chunk.size() == batchChunkSize) {
+                createChunk(chunk, batchItemResponses);
+            }
+        }
+        createChunk(chunk, batchItemResponses);
+        return batchItemResponses;
+    }
+
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    @Admission(Admission.WRITE)
+    public List<BatchItemResponse> createEmployeesFromNdjson(InputStream body) throws IOException {
+        List<BatchItemResponse> batchItemResponses = new ArrayList<>();
+        Map<Integer, Employee> chunk = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        int index = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                chunk.put(index, employeeMapper.toEntity(objectMapper.readValue(line, EmployeeRequest.class)));
+            } catch (IOException exception) {
+                batchItemResponses.add(new BatchItemResponse(index, null, "Malformed employee at line " + lineNumber + "."));
+            }
+            index++;
+            if (chunk.size() == batchChunkSize) {
+                createChunk(chunk, batchItemResponses);
+            }
+        }
+        createChunk(chunk, batchItemResponses);
+        batchItemResponses.sort(Comparator.comparingInt(BatchItemResponse::getIndex));
+        return batchItemResponses;
+    }
+
     @PutMapping("/{employeeId}")
-    public EmployeeResponse updateEmployee(@PathVariable String employeeId, @RequestBody EmployeeRequest employeeRequest) throws EmployeeNotFoundException {
-        Employee employee = employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeRequest));
-        return employeeMapper.toResponse(employee);
+    @Admission(Admission.WRITE)
+    public ResponseEntity<EmployeeResponse> updateEmployee(@PathVariable String employeeId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestBody EmployeeRequest employeeRequest) throws EmployeeNotFoundException {
+        Employee employee = employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeRequest), EntityTags.version(ifMatch));
+        forgetReads(employeeId);
+        return EntityTags.ok(EntityTags.of(employee.getVersion(), Collections.emptySet()), EntityTags.lastModified(employee.getLastModifiedDate()))
+                .body(employeeMapper.toResponse(employee));
+    }
+
+    @PatchMapping("/{employeeId}")
+    @Admission(Admission.WRITE)
+    public ResponseEntity<EmployeeResponse> patchEmployee(@PathVariable String employeeId, @RequestBody EmployeeRequest employeeRequest) throws EmployeeNotFoundException {
+        Employee employee = employeeService.patchEmployee(employeeId, employeeMapper.toEntity(employeeRequest));
+        forgetReads(employeeId);
+        return EntityTags.ok(EntityTags.of(employee.getVersion(), Collections.emptySet()), EntityTags.lastModified(employee.getLastModifiedDate()))
+                .body(employeeMapper.toResponse(employee));
     }
 
     @DeleteMapping("/{employeeId}")
+    @Admission(Admission.WRITE)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteEmployee(@PathVariable String employeeId) throws EmployeeNotFoundException {
         employeeService.deleteEmployee(employeeId);
+        forgetReads(employeeId);
+    }
+
+    private void forgetReads(String employeeId) {
+        employeeReads.forget(key -> key.startsWith(employeeId + "|"));
+        companyReads.forget(key -> key.contains("|" + Expansions.EMPLOYEES + "|"));
+        companyEmployeesReads.forget(companyId -> true);
+    }
+
+    private byte[] readJsonBatch(InputStream body) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (json.size() + read > batchMaxJsonBytes) {
+                throw new IllegalArgumentException("Employee batch exceeds " + batchMaxJsonBytes + " bytes, send large imports as " + APPLICATION_NDJSON_VALUE + ".");
+            }
+            json.write(buffer, 0, read);
+        }
+        return json.toByteArray();
+    }
+
+    private void createChunk(Map<Integer, Employee> chunk, List<BatchItemResponse> batchItemResponses) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Integer> indexes = new ArrayList<>(chunk.keySet());
+        List<Employee> employees = new ArrayList<>(chunk.values());
+        Map<Integer, String> errors = employeeService.createEmployees(employees);
+        for (int position = 0; position < employees.size(); position++) {
+            String error = errors.get(position);
+            batchItemResponses.add(error == null
+                    ? new BatchItemResponse(indexes.get(position), employees.get(position).getId(), null)
+                    : new BatchItemResponse(indexes.get(position), null, error));
+        }
+        chunk.clear();
+    }
+
+    private ResponseEntity<StreamingResponseBody> toNdjsonResponse(Supplier<CloseableIterator<Employee>> employees) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(outputStream -> writeAsNdjson(employees, outputStream));
+    }
+
+    private void writeAsNdjson(Supplier<CloseableIterator<Employee>> employees, OutputStream outputStream) throws IOException {
+        try (CloseableIterator<Employee> iterator = employees.get()) {
+            boolean first = true;
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(employeeMapper.toResponse(iterator.next())));
+                outputStream.write('\n');
+                if (first) {
+                    outputStream.flush();
+                    first = false;
+                }
+            }
+        }
     }
 }
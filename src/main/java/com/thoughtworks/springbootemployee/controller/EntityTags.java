@@ -0,0 +1,90 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.dto.TaggedResponse;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+final class EntityTags {
+    private static final String EMPLOYEES_SEPARATOR = "-";
+    private static final String FIELDS_SEPARATOR = "+";
+
+    private EntityTags() {
+    }
+
+    static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    static String of(Long version, Set<String> fields) {
+        return quote(String.valueOf(versionOf(version)), fields);
+    }
+
+    static String of(Long version, List<Employee> employees, Set<String> fields) {
+        String employeeVersions = employees.stream()
+                .sorted(Comparator.comparing(Employee::getId))
+                .map(employee -> employee.getId() + ":" + versionOf(employee.getVersion()))
+                .collect(Collectors.joining(","));
+        return quote(versionOf(version) + EMPLOYEES_SEPARATOR + Integer.toHexString(employeeVersions.hashCode()), fields);
+    }
+
+    static long lastModified(Instant lastModifiedDate) {
+        return lastModifiedDate == null ? -1 : lastModifiedDate.toEpochMilli();
+    }
+
+    static long lastModified(Instant lastModifiedDate, List<Employee> employees) {
+        return employees.stream()
+                .map(Employee::getLastModifiedDate)
+                .filter(Objects::nonNull)
+                .map(EntityTags::lastModified)
+                .reduce(lastModified(lastModifiedDate), Math::max);
+    }
+
+    static ResponseEntity.BodyBuilder ok(String eTag, long lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        return lastModified < 0 ? builder : builder.lastModified(lastModified);
+    }
+
+    static ResponseEntity<MappingJacksonValue> ok(TaggedResponse<?> response, Set<String> fields) {
+        return ok(response.getETag(), response.getLastModified()).body(Fieldset.apply(response.getBody(), fields));
+    }
+
+    static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "").split("[" + EMPLOYEES_SEPARATOR + FIELDS_SEPARATOR + "]")[0];
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch + ".");
+        }
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version;
+    }
+
+    private static String quote(String tag, Set<String> fields) {
+        if (!fields.isEmpty()) {
+            tag += FIELDS_SEPARATOR + String.join(FIELDS_SEPARATOR, new TreeSet<>(fields));
+        }
+        return "\"" + tag + "\"";
+    }
+}
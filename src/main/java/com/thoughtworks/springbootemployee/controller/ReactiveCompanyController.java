@@ -0,0 +1,178 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.CursorSliceResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.fieldset.Expansions;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.ReactiveCompanyMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.service.ReactiveCompanyService;
+import com.thoughtworks.springbootemployee.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.thoughtworks.springbootemployee.controller.EmployeeController.APPLICATION_NDJSON_VALUE;
+
+@RestController
+@RequestMapping("/companies")
+@Profile("reactive")
+public class ReactiveCompanyController {
+    @Autowired
+    private ReactiveCompanyService companyService;
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+    @Autowired
+    private PlainCompanyMapper plainCompanyMapper;
+    @Autowired
+    private ReactiveCompanyMapper reactiveCompanyMapper;
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<MappingJacksonValue> getCompanies(@RequestParam(required = false) List<String> fields, @RequestParam(required = false) List<String> expand) {
+        Set<String> selectedFields = Fieldset.parse(fields, CompanyResponse.FIELDS);
+        Flux<Company> companies = companyService.getCompanies(plainCompanyMapper.toEntityFields(selectedFields));
+        Flux<CompanyResponse> responses = Expansions.expandsEmployees(expand)
+                ? reactiveCompanyMapper.toResponses(companies)
+                : reactiveCompanyMapper.toSummaryResponses(companies);
+        return responses.map(response -> Fieldset.apply(response, selectedFields));
+    }
+
+    @GetMapping("/{companyId}")
+    public Mono<ResponseEntity<Object>> getCompany(@PathVariable String companyId, @RequestParam(required = false) List<String> fields,
+                                                   @RequestParam(required = false) List<String> expand, ServerWebExchange exchange) {
+        Set<String> selectedFields = Fieldset.parse(fields, CompanyResponse.FIELDS);
+        boolean expandsEmployees = Expansions.expandsEmployees(expand);
+        Mono<Boolean> notModified = !ReactiveSupport.isConditional(exchange.getRequest().getHeaders()) ? Mono.just(false)
+                : companyService.getCompanyVersion(companyId).flatMap(current -> expandsEmployees
+                ? employeeService.getEmployeeVersions(PlainCompanyMapper.employeesIdOf(current)).collectList()
+                        .map(employees -> ReactiveSupport.checkNotModified(exchange, EntityTags.of(current.getVersion(), employees, selectedFields),
+                                EntityTags.lastModified(current.getLastModifiedDate(), employees)))
+                : Mono.just(ReactiveSupport.checkNotModified(exchange, EntityTags.of(current.getVersion(), selectedFields),
+                        EntityTags.lastModified(current.getLastModifiedDate()))));
+        return notModified.flatMap(isNotModified -> isNotModified ? Mono.<ResponseEntity<Object>>empty() : loadCompany(companyId, expandsEmployees, selectedFields));
+    }
+
+    @GetMapping(value = "/{companyId}/employees", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<EmployeeResponse> getEmployees(@PathVariable String companyId) {
+        return companyService.getEmployeeList(companyId).map(employeeMapper::toResponse);
+    }
+
+    @GetMapping("/{companyId}/stats")
+    public Mono<SalaryStatistics> getCompanyStatistics(@PathVariable String companyId) {
+        return companyService.getCompanyStatistics(companyId);
+    }
+
+    @GetMapping(params = {"page", "pageSize"})
+    public Mono<Page<CompanyResponse>> getCompaniesInPage(@RequestParam Integer page, @RequestParam Integer pageSize, @RequestParam(required = false) List<String> expand) {
+        if (Expansions.expandsEmployees(expand)) {
+            return companyService.getCompaniesPaginated(page, pageSize).flatMap(reactiveCompanyMapper::toResponses);
+        }
+        return companyService.getCompaniesPaginated(page, pageSize).map(companies -> companies.map(plainCompanyMapper::toSummaryResponse));
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorSliceResponse<CompanyResponse>> getCompaniesAfter(@RequestParam(required = false) String after, @RequestParam Integer limit,
+                                                                        @RequestParam(required = false) List<String> expand) {
+        boolean expandsEmployees = Expansions.expandsEmployees(expand);
+        return companyService.getCompaniesAfter(after, limit).flatMap(companies -> {
+            Flux<Company> content = Flux.fromIterable(companies.getContent());
+            return (expandsEmployees ? reactiveCompanyMapper.toResponses(content) : reactiveCompanyMapper.toSummaryResponses(content))
+                    .collectList()
+                    .map(responses -> toCursorSlice(responses, companies.hasNext()));
+        });
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CompanyResponse> createCompany(@RequestBody CompanyRequest companyRequest) {
+        return companyService.createCompany(plainCompanyMapper.toEntity(companyRequest)).flatMap(reactiveCompanyMapper::toResponse);
+    }
+
+    @PutMapping("/{companyId}")
+    public Mono<ResponseEntity<CompanyResponse>> updateCompany(@PathVariable String companyId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                               @RequestBody CompanyRequest companyUpdated) {
+        return companyService.updateCompany(companyId, plainCompanyMapper.toEntity(companyUpdated), EntityTags.version(ifMatch))
+                .flatMap(company -> reactiveCompanyMapper.toResponse(company).map(response -> toTaggedResponse(company, response)));
+    }
+
+    @PatchMapping("/{companyId}")
+    public Mono<ResponseEntity<CompanyResponse>> patchCompany(@PathVariable String companyId, @RequestBody CompanyRequest companyPatch) {
+        return companyService.patchCompany(companyId, plainCompanyMapper.toEntity(companyPatch))
+                .flatMap(company -> reactiveCompanyMapper.toResponse(company).map(response -> toTaggedResponse(company, response)));
+    }
+
+    @PostMapping("/{companyId}/employees/{employeeId}")
+    public Mono<ResponseEntity<CompanyResponse>> addEmployee(@PathVariable String companyId, @PathVariable String employeeId) {
+        return companyService.addEmployees(companyId, Collections.singletonList(employeeId)).map(this::toSummaryResponse);
+    }
+
+    @PostMapping("/{companyId}/employees")
+    public Mono<ResponseEntity<CompanyResponse>> addEmployees(@PathVariable String companyId, @RequestBody List<String> employeesId) {
+        return companyService.addEmployees(companyId, employeesId).map(this::toSummaryResponse);
+    }
+
+    @DeleteMapping("/{companyId}/employees/{employeeId}")
+    public Mono<ResponseEntity<CompanyResponse>> removeEmployee(@PathVariable String companyId, @PathVariable String employeeId) {
+        return companyService.removeEmployees(companyId, Collections.singletonList(employeeId)).map(this::toSummaryResponse);
+    }
+
+    @DeleteMapping(value = "/{companyId}/employees", params = "employeesId")
+    public Mono<ResponseEntity<CompanyResponse>> removeEmployees(@PathVariable String companyId, @RequestParam List<String> employeesId) {
+        return companyService.removeEmployees(companyId, employeesId).map(this::toSummaryResponse);
+    }
+
+    @DeleteMapping("/{companyId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteCompany(@PathVariable String companyId) {
+        return companyService.deleteCompany(companyId);
+    }
+
+    private Mono<ResponseEntity<Object>> loadCompany(String companyId, boolean expandsEmployees, Set<String> selectedFields) {
+        if (expandsEmployees) {
+            return companyService.getCompany(companyId).flatMap(company -> reactiveCompanyMapper.toResponse(company)
+                    .map(response -> EntityTags.ok(EntityTags.of(company.getVersion(), response.getEmployees(), selectedFields),
+                            EntityTags.lastModified(company.getLastModifiedDate(), response.getEmployees()))
+                            .body(Fieldset.apply(response, selectedFields))));
+        }
+        return companyService.getCompany(companyId)
+                .map(company -> EntityTags.ok(EntityTags.of(company.getVersion(), selectedFields), EntityTags.lastModified(company.getLastModifiedDate()))
+                        .body(Fieldset.apply(plainCompanyMapper.toSummaryResponse(company), selectedFields)));
+    }
+
+    private CursorSliceResponse<CompanyResponse> toCursorSlice(List<CompanyResponse> content, boolean hasNext) {
+        String nextCursor = hasNext ? CursorCodec.encode(content.get(content.size() - 1).getCompanyId()) : null;
+        return new CursorSliceResponse<>(content, hasNext, nextCursor);
+    }
+
+    private ResponseEntity<CompanyResponse> toSummaryResponse(Company company) {
+        return EntityTags.ok(EntityTags.of(company.getVersion(), Collections.emptySet()), EntityTags.lastModified(company.getLastModifiedDate()))
+                .body(plainCompanyMapper.toSummaryResponse(company));
+    }
+
+    private ResponseEntity<CompanyResponse> toTaggedResponse(Company company, CompanyResponse response) {
+        return EntityTags.ok(EntityTags.of(company.getVersion(), response.getEmployees(), Collections.emptySet()),
+                EntityTags.lastModified(company.getLastModifiedDate(), response.getEmployees()))
+                .body(response);
+    }
+}
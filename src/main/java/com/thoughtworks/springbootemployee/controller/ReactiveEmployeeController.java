@@ -0,0 +1,198 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.springbootemployee.dto.BatchItemResponse;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.CursorSliceResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.fieldset.Expansions;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+import com.thoughtworks.springbootemployee.mapper.EmployeeMapper;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
+import com.thoughtworks.springbootemployee.mapper.ReactiveCompanyMapper;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.service.ReactiveCompanyService;
+import com.thoughtworks.springbootemployee.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.thoughtworks.springbootemployee.controller.EmployeeController.APPLICATION_NDJSON_VALUE;
+
+@RestController
+@RequestMapping("/employees")
+@Profile("reactive")
+public class ReactiveEmployeeController {
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+    @Autowired
+    private EmployeeMapper employeeMapper;
+    @Autowired
+    private ReactiveCompanyService companyService;
+    @Autowired
+    private PlainCompanyMapper plainCompanyMapper;
+    @Autowired
+    private ReactiveCompanyMapper reactiveCompanyMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${employee.batch.chunk-size:1000}")
+    private int batchChunkSize;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<MappingJacksonValue> getEmployees(@RequestParam(required = false) List<String> fields) {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        return employeeService.getEmployees(selectedFields)
+                .map(employee -> Fieldset.apply(employeeMapper.toResponse(employee), selectedFields));
+    }
+
+    @GetMapping("/stats")
+    public Flux<SalaryStatistics> getSalaryStatistics(@RequestParam(required = false) String groupBy) {
+        return employeeService.getSalaryStatistics(groupBy);
+    }
+
+    @GetMapping("/{employeeId}")
+    public Mono<ResponseEntity<Object>> getEmployee(@PathVariable String employeeId, @RequestParam(required = false) List<String> fields,
+                                                    ServerWebExchange exchange) {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        Mono<Boolean> notModified = !ReactiveSupport.isConditional(exchange.getRequest().getHeaders()) ? Mono.just(false)
+                : employeeService.getEmployeeVersion(employeeId).map(current -> ReactiveSupport.checkNotModified(exchange,
+                EntityTags.of(current.getVersion(), selectedFields), EntityTags.lastModified(current.getLastModifiedDate())));
+        return notModified.flatMap(isNotModified -> isNotModified ? Mono.<ResponseEntity<Object>>empty() : employeeService.getEmployee(employeeId)
+                .map(employee -> EntityTags.ok(EntityTags.of(employee.getVersion(), selectedFields), EntityTags.lastModified(employee.getLastModifiedDate()))
+                        .body(Fieldset.apply(employeeMapper.toResponse(employee), selectedFields))));
+    }
+
+    @GetMapping("/{employeeId}/companies")
+    public Mono<Page<CompanyResponse>> getCompanies(@PathVariable String employeeId, @RequestParam(defaultValue = "1") Integer page, @RequestParam(defaultValue = "20") Integer pageSize,
+                                                    @RequestParam(required = false) List<String> expand) {
+        if (Expansions.expandsEmployees(expand)) {
+            return companyService.getCompaniesByEmployee(employeeId, page, pageSize).flatMap(reactiveCompanyMapper::toResponses);
+        }
+        return companyService.getCompaniesByEmployee(employeeId, page, pageSize).map(companies -> companies.map(plainCompanyMapper::toSummaryResponse));
+    }
+
+    @GetMapping(params = "gender", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<MappingJacksonValue> getEmployeesByGender(@RequestParam String gender, @RequestParam(required = false) List<String> fields) {
+        Set<String> selectedFields = Fieldset.parse(fields, EmployeeResponse.FIELDS);
+        return employeeService.getEmployeesByGender(gender, selectedFields)
+                .map(employee -> Fieldset.apply(employeeMapper.toResponse(employee), selectedFields));
+    }
+
+    @GetMapping(params = {"page", "pageSize"})
+    public Mono<Page<EmployeeResponse>> getEmployeesInPage(@RequestParam Integer page, @RequestParam Integer pageSize) {
+        return employeeService.getEmployeesPaginated(page, pageSize).map(employees -> employees.map(employeeMapper::toResponse));
+    }
+
+    @GetMapping(params = {"limit", "!gender"})
+    public Mono<CursorSliceResponse<EmployeeResponse>> getEmployeesAfter(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        return employeeService.getEmployeesAfter(after, limit).map(employees -> {
+            List<EmployeeResponse> content = employees.getContent().stream().map(employeeMapper::toResponse).collect(Collectors.toList());
+            String nextCursor = employees.hasNext() ? CursorCodec.encode(content.get(content.size() - 1).getId()) : null;
+            return new CursorSliceResponse<>(content, employees.hasNext(), nextCursor);
+        });
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeResponse> createEmployee(@RequestBody EmployeeRequest employeeRequest) {
+        return employeeService.createEmployee(employeeMapper.toEntity(employeeRequest)).map(employeeMapper::toResponse);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<BatchItemResponse>> createEmployees(@RequestBody Flux<EmployeeRequest> employeeRequests) {
+        return employeeRequests.index()
+                .buffer(batchChunkSize)
+                .concatMap(requests -> {
+                    Map<Integer, Employee> chunk = new LinkedHashMap<>();
+                    requests.forEach(request -> chunk.put(request.getT1().intValue(), employeeMapper.toEntity(request.getT2())));
+                    return createChunk(chunk);
+                })
+                .collectList();
+    }
+
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public Mono<List<BatchItemResponse>> createEmployeesFromNdjson(@RequestBody Flux<String> lines) {
+        return lines.index()
+                .filter(line -> !line.getT2().trim().isEmpty())
+                .index()
+                .buffer(batchChunkSize)
+                .concatMap(items -> {
+                    Map<Integer, Employee> chunk = new LinkedHashMap<>();
+                    List<BatchItemResponse> malformed = new ArrayList<>();
+                    for (Tuple2<Long, Tuple2<Long, String>> item : items) {
+                        int index = item.getT1().intValue();
+                        try {
+                            chunk.put(index, employeeMapper.toEntity(objectMapper.readValue(item.getT2().getT2(), EmployeeRequest.class)));
+                        } catch (IOException exception) {
+                            malformed.add(new BatchItemResponse(index, null, "Malformed employee at line " + (item.getT2().getT1() + 1) + "."));
+                        }
+                    }
+                    return createChunk(chunk).concatWith(Flux.fromIterable(malformed));
+                })
+                .collectSortedList(Comparator.comparingInt(BatchItemResponse::getIndex));
+    }
+
+    @PutMapping("/{employeeId}")
+    public Mono<ResponseEntity<EmployeeResponse>> updateEmployee(@PathVariable String employeeId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                 @RequestBody EmployeeRequest employeeRequest) {
+        return employeeService.updateEmployee(employeeId, employeeMapper.toEntity(employeeRequest), EntityTags.version(ifMatch)).map(this::toTaggedResponse);
+    }
+
+    @PatchMapping("/{employeeId}")
+    public Mono<ResponseEntity<EmployeeResponse>> patchEmployee(@PathVariable String employeeId, @RequestBody EmployeeRequest employeeRequest) {
+        return employeeService.patchEmployee(employeeId, employeeMapper.toEntity(employeeRequest)).map(this::toTaggedResponse);
+    }
+
+    @DeleteMapping("/{employeeId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable String employeeId) {
+        return employeeService.deleteEmployee(employeeId);
+    }
+
+    private Flux<BatchItemResponse> createChunk(Map<Integer, Employee> chunk) {
+        if (chunk.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Integer> indexes = new ArrayList<>(chunk.keySet());
+        List<Employee> employees = new ArrayList<>(chunk.values());
+        return employeeService.createEmployees(employees).flatMapIterable(errors -> {
+            List<BatchItemResponse> batchItemResponses = new ArrayList<>();
+            for (int position = 0; position < employees.size(); position++) {
+                String error = errors.get(position);
+                batchItemResponses.add(error == null
+                        ? new BatchItemResponse(indexes.get(position), employees.get(position).getId(), null)
+                        : new BatchItemResponse(indexes.get(position), null, error));
+            }
+            return batchItemResponses;
+        });
+    }
+
+    private ResponseEntity<EmployeeResponse> toTaggedResponse(Employee employee) {
+        return EntityTags.ok(EntityTags.of(employee.getVersion(), Collections.emptySet()), EntityTags.lastModified(employee.getLastModifiedDate()))
+                .body(employeeMapper.toResponse(employee));
+    }
+}
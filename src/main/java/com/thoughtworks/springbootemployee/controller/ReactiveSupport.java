@@ -0,0 +1,19 @@
+package com.thoughtworks.springbootemployee.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+
+final class ReactiveSupport {
+    private ReactiveSupport() {
+    }
+
+    static boolean isConditional(HttpHeaders headers) {
+        return !headers.getIfNoneMatch().isEmpty() || headers.getIfModifiedSince() != -1;
+    }
+
+    static boolean checkNotModified(ServerWebExchange exchange, String eTag, long lastModified) {
+        return lastModified < 0 ? exchange.checkNotModified(eTag) : exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified));
+    }
+}
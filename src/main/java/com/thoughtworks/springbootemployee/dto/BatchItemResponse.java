@@ -0,0 +1,40 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public class BatchItemResponse {
+    private int index;
+    private String id;
+    private String error;
+
+    public BatchItemResponse() {
+    }
+
+    public BatchItemResponse(int index, String id, String error) {
+        this.index = index;
+        this.id = id;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
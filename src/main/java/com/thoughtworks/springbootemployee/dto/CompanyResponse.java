@@ -1,13 +1,24 @@
 package com.thoughtworks.springbootemployee.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
 import com.thoughtworks.springbootemployee.model.Employee;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+@JsonFilter(Fieldset.FILTER_ID)
 public class CompanyResponse {
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("companyId", "companyName", "employeesNumber", "employees")));
+
     private String companyId;
     private String companyName;
     private int employeesNumber;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Employee> employees;
 
     public CompanyResponse(String companyId, String companyName, int employeesNumber, List<Employee> employees) {
@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.dto;
+
+import java.util.List;
+
+public class CursorSliceResponse<T> {
+    private List<T> content;
+    private int numberOfElements;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public CursorSliceResponse() {
+    }
+
+    public CursorSliceResponse(List<T> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.numberOfElements = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    public void setNumberOfElements(int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
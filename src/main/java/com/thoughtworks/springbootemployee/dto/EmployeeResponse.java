@@ -1,6 +1,17 @@
 package com.thoughtworks.springbootemployee.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+@JsonFilter(Fieldset.FILTER_ID)
 public class EmployeeResponse {
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("id", "name", "age", "gender", "salary")));
+
     private String id;
     private String name;
     private Integer age;
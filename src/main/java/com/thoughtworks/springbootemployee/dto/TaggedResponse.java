@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.dto;
+
+public final class TaggedResponse<T> {
+    private final T body;
+    private final String eTag;
+    private final long lastModified;
+
+    public TaggedResponse(T body, String eTag, long lastModified) {
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
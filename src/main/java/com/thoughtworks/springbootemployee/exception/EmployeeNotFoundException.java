@@ -1,7 +1,21 @@
 package com.thoughtworks.springbootemployee.exception;
 
+import java.util.Collections;
+import java.util.List;
+
 public class EmployeeNotFoundException extends Exception {
+    private final List<String> missingEmployeesId;
+
     public EmployeeNotFoundException() {
+        this(Collections.emptyList());
+    }
+
+    public EmployeeNotFoundException(List<String> missingEmployeesId) {
         super("Employee Not Found.");
+        this.missingEmployeesId = missingEmployeesId;
+    }
+
+    public List<String> getMissingEmployeesId() {
+        return missingEmployeesId;
     }
 }
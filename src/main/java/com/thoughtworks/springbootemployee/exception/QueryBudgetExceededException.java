@@ -0,0 +1,7 @@
+package com.thoughtworks.springbootemployee.exception;
+
+public class QueryBudgetExceededException extends IllegalStateException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.thoughtworks.springbootemployee.fieldset;
+
+import java.util.List;
+
+public final class Expansions {
+    public static final String EMPLOYEES = "employees";
+
+    private Expansions() {
+    }
+
+    public static boolean expandsEmployees(List<String> expand) {
+        if (expand == null) {
+            return false;
+        }
+        for (String expansion : expand) {
+            if (!EMPLOYEES.equals(expansion.trim())) {
+                throw new IllegalArgumentException("Unsupported expand: " + expansion.trim() + ".");
+            }
+        }
+        return !expand.isEmpty();
+    }
+
+    public static void requireNone(List<String> expand) {
+        if (expandsEmployees(expand)) {
+            throw new IllegalArgumentException("Pass expand=" + EMPLOYEES + " as a single value.");
+        }
+    }
+}
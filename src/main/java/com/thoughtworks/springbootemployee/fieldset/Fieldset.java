@@ -0,0 +1,54 @@
+package com.thoughtworks.springbootemployee.fieldset;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public final class Fieldset {
+    public static final String FILTER_ID = "fieldset";
+
+    private Fieldset() {
+    }
+
+    public static Set<String> parse(List<String> fields, Set<String> supportedFields) {
+        if (fields == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> selectedFields = new LinkedHashSet<>();
+        for (String field : fields) {
+            String trimmedField = field.trim();
+            if (trimmedField.isEmpty()) {
+                continue;
+            }
+            if (!supportedFields.contains(trimmedField)) {
+                throw new IllegalArgumentException("Unsupported field: " + trimmedField + ".");
+            }
+            selectedFields.add(trimmedField);
+        }
+        return selectedFields;
+    }
+
+    public static MappingJacksonValue apply(Object body, Set<String> fields) {
+        MappingJacksonValue mappingJacksonValue = new MappingJacksonValue(body);
+        if (!fields.isEmpty()) {
+            mappingJacksonValue.setFilters(filters(fields));
+        }
+        return mappingJacksonValue;
+    }
+
+    public static String key(Set<String> fields) {
+        return String.join(",", new TreeSet<>(fields));
+    }
+
+    private static FilterProvider filters(Set<String> fields) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
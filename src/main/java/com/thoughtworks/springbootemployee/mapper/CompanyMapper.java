@@ -1,33 +1,169 @@
 package com.thoughtworks.springbootemployee.mapper;
 
+import com.thoughtworks.springbootemployee.config.AsyncConfig;
 import com.thoughtworks.springbootemployee.dto.CompanyRequest;
 import com.thoughtworks.springbootemployee.dto.CompanyResponse;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.Employee;
 import com.thoughtworks.springbootemployee.service.EmployeeService;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Component
+@Profile("!reactive")
 public class CompanyMapper {
+    @Autowired
+    private PlainCompanyMapper plainCompanyMapper;
     @Autowired
     private EmployeeService employeeService;
+    @Autowired
+    @Qualifier(AsyncConfig.COMPANY_ASSEMBLY_EXECUTOR)
+    private ThreadPoolTaskExecutor companyAssemblyExecutor;
+    @Value("${company.assembly.async:true}")
+    private boolean assemblyAsync;
+    @Value("${company.assembly.chunk-size:200}")
+    private int assemblyChunkSize;
+    @Value("${company.assembly.timeout-ms:5000}")
+    private long assemblyTimeoutMs;
 
     public Company toEntity(CompanyRequest companyRequest) {
-        Company company = new Company();
+        return plainCompanyMapper.toEntity(companyRequest);
+    }
+
+    public CompanyResponse toResponse(Company company) {
+        return toResponses(Collections.singletonList(company)).get(0);
+    }
 
-        BeanUtils.copyProperties(companyRequest, company);
+    public List<CompanyResponse> toResponses(List<Company> companies) {
+        Map<String, Employee> employeesById = fetchEmployees(companies);
 
-        return company;
+        return companies.stream()
+                .map(company -> plainCompanyMapper.toResponse(company, employeesById))
+                .collect(Collectors.toList());
     }
 
-    public CompanyResponse toResponse(Company company) {
-        CompanyResponse companyResponse = new CompanyResponse();
+    public <T> CompletableFuture<T> fetchAsync(Callable<T> query) {
+        if (!assemblyAsync) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                result.complete(query.call());
+            } catch (Exception exception) {
+                result.completeExceptionally(exception);
+            }
+            return result;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.call();
+            } catch (RuntimeException exception) {
+                throw exception;
+            } catch (Exception exception) {
+                throw new CompletionException(exception);
+            }
+        }, companyAssemblyExecutor);
+    }
+
+    public CompletableFuture<List<CompanyResponse>> toResponsesAsync(List<Company> companies) {
+        if (!assemblyAsync) {
+            return CompletableFuture.completedFuture(toResponses(companies));
+        }
+        List<String> employeesId = distinctEmployeesId(companies);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(assemblyTimeoutMs);
+        List<CompletableFuture<List<Employee>>> chunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < employeesId.size(); from += assemblyChunkSize) {
+                List<String> chunk = employeesId.subList(from, Math.min(from + assemblyChunkSize, employeesId.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> {
+                    long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        throw new CancellationException("Company assembly timed out.");
+                    }
+                    return employeeService.getEmployeesById(chunk, remainingMs);
+                }, companyAssemblyExecutor));
+            }
+        } catch (RejectedExecutionException exception) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw exception;
+        }
+
+        CompletableFuture<List<CompanyResponse>> responses = CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<String, Employee> employeesById = chunks.stream()
+                            .flatMap(chunk -> chunk.join().stream())
+                            .collect(Collectors.toMap(Employee::getId, Function.identity(), (first, second) -> first));
+                    return companies.stream()
+                            .map(company -> plainCompanyMapper.toResponse(company, employeesById))
+                            .collect(Collectors.toList());
+                });
+        responses.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+            }
+        });
+        return responses;
+    }
+
+    public CompletableFuture<Page<CompanyResponse>> toResponsesAsync(Page<Company> companies) {
+        return toResponsesAsync(companies.getContent())
+                .thenApply(responses -> new PageImpl<>(responses, companies.getPageable(), companies.getTotalElements()));
+    }
+
+    public CompanyResponse toResponse(CompanySummary companySummary) {
+        return plainCompanyMapper.toResponse(companySummary);
+    }
+
+    public CompanyResponse toResponse(CompanyWithEmployees company) {
+        return plainCompanyMapper.toResponse(company);
+    }
+
+    public Set<String> toEntityFields(Set<String> fields) {
+        return plainCompanyMapper.toEntityFields(fields);
+    }
 
-        BeanUtils.copyProperties(company, companyResponse);
-        companyResponse.setEmployees(employeeService.getEmployeesById(company.getEmployeesId()));
-        companyResponse.setEmployeesNumber(employeeService.getEmployeesById(company.getEmployeesId()).size());
+    public Page<CompanyResponse> toResponses(Page<Company> companies) {
+        return new PageImpl<>(toResponses(companies.getContent()), companies.getPageable(), companies.getTotalElements());
+    }
+
+    private Map<String, Employee> fetchEmployees(List<Company> companies) {
+        List<String> employeesId = distinctEmployeesId(companies);
+        if (employeesId.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return employeeService.getEmployeesById(employeesId).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    private List<String> distinctEmployeesId(List<Company> companies) {
+        return companies.stream()
+                .flatMap(company -> PlainCompanyMapper.employeesIdOf(company).stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
 
-        return companyResponse;
+    public CompanyResponse toSummaryResponse(Company company) {
+        return plainCompanyMapper.toSummaryResponse(company);
     }
 }
@@ -0,0 +1,27 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper
+interface CompanyStructMapper {
+    @Mapping(target = "companyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    Company toEntity(CompanyRequest companyRequest);
+
+    @Mapping(target = "employeesNumber", ignore = true)
+    @Mapping(target = "employees", ignore = true)
+    CompanyResponse toResponse(Company company);
+
+    @Mapping(target = "employees", ignore = true)
+    CompanyResponse toResponse(CompanySummary companySummary);
+
+    @Mapping(target = "employeesNumber", expression = "java(company.getEmployees().size())")
+    CompanyResponse toResponse(CompanyWithEmployees company);
+}
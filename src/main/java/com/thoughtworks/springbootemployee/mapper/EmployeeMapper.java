@@ -3,24 +3,18 @@ package com.thoughtworks.springbootemployee.mapper;
 import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
 import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
 import com.thoughtworks.springbootemployee.model.Employee;
-import org.springframework.beans.BeanUtils;
+import org.mapstruct.factory.Mappers;
 import org.springframework.stereotype.Component;
 
 @Component
 public class EmployeeMapper {
-    public Employee toEntity(EmployeeRequest employeeRequest) {
-        Employee employee = new Employee();
-
-        BeanUtils.copyProperties(employeeRequest, employee);
+    private final EmployeeStructMapper employeeStructMapper = Mappers.getMapper(EmployeeStructMapper.class);
 
-        return employee;
+    public Employee toEntity(EmployeeRequest employeeRequest) {
+        return employeeStructMapper.toEntity(employeeRequest);
     }
 
     public EmployeeResponse toResponse(Employee employee) {
-        EmployeeResponse employeeResponse = new EmployeeResponse();
-
-        BeanUtils.copyProperties(employee, employeeResponse);
-
-        return employeeResponse;
+        return employeeStructMapper.toResponse(employee);
     }
 }
@@ -0,0 +1,71 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.mapstruct.factory.Mappers;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class PlainCompanyMapper {
+    private static final String EMPLOYEES = "employees";
+    private static final String EMPLOYEES_NUMBER = "employeesNumber";
+
+    private final CompanyStructMapper companyStructMapper = Mappers.getMapper(CompanyStructMapper.class);
+
+    public Company toEntity(CompanyRequest companyRequest) {
+        return companyStructMapper.toEntity(companyRequest);
+    }
+
+    public CompanyResponse toResponse(CompanySummary companySummary) {
+        return companyStructMapper.toResponse(companySummary);
+    }
+
+    public CompanyResponse toResponse(CompanyWithEmployees company) {
+        return companyStructMapper.toResponse(company);
+    }
+
+    public Set<String> toEntityFields(Set<String> fields) {
+        Set<String> entityFields = new HashSet<>();
+        for (String field : fields) {
+            entityFields.add(EMPLOYEES.equals(field) || EMPLOYEES_NUMBER.equals(field) ? "employeesId" : field);
+        }
+        return entityFields;
+    }
+
+    public CompanyResponse toResponse(Company company, Map<String, Employee> employeesById) {
+        CompanyResponse companyResponse = companyStructMapper.toResponse(company);
+
+        List<Employee> employees = employeesIdOf(company).stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        companyResponse.setEmployees(employees);
+        companyResponse.setEmployeesNumber(employees.size());
+
+        return companyResponse;
+    }
+
+    public CompanyResponse toSummaryResponse(Company company) {
+        CompanyResponse companyResponse = companyStructMapper.toResponse(company);
+
+        companyResponse.setEmployeesNumber(employeesIdOf(company).size());
+
+        return companyResponse;
+    }
+
+    public static List<String> employeesIdOf(Company company) {
+        return company.getEmployeesId() == null ? Collections.emptyList() : company.getEmployeesId();
+    }
+}
@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee.mapper;
+
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("reactive")
+public class ReactiveCompanyMapper {
+    @Autowired
+    private PlainCompanyMapper plainCompanyMapper;
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+    @Value("${company.assembly.chunk-size:200}")
+    private int assemblyChunkSize;
+
+    public Mono<CompanyResponse> toResponse(Company company) {
+        return toResponses(Flux.just(company)).next();
+    }
+
+    public Flux<CompanyResponse> toResponses(Flux<Company> companies) {
+        return companies.buffer(assemblyChunkSize).concatMap(this::toResponseChunk);
+    }
+
+    public Mono<Page<CompanyResponse>> toResponses(Page<Company> companies) {
+        return toResponses(Flux.fromIterable(companies.getContent()))
+                .collectList()
+                .map(responses -> new PageImpl<>(responses, companies.getPageable(), companies.getTotalElements()));
+    }
+
+    public Flux<CompanyResponse> toSummaryResponses(Flux<Company> companies) {
+        return companies.map(plainCompanyMapper::toSummaryResponse);
+    }
+
+    private Flux<CompanyResponse> toResponseChunk(List<Company> companies) {
+        List<String> employeesId = companies.stream()
+                .flatMap(company -> PlainCompanyMapper.employeesIdOf(company).stream())
+                .distinct()
+                .collect(Collectors.toList());
+
+        return employeeService.getEmployeesById(employeesId)
+                .collectMap(Employee::getId)
+                .flatMapMany(employeesById -> Flux.fromIterable(companies).map(company -> plainCompanyMapper.toResponse(company, employeesById)));
+    }
+}
@@ -1,23 +1,42 @@
 package com.thoughtworks.springbootemployee.model;
 
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Document
 public class Company {
     @MongoId(FieldType.OBJECT_ID)
     private String companyId;
+    @Indexed
     private String companyName;
+    @Indexed
     private List<String> employeesId;
+    @Version
+    private Long version;
+    @LastModifiedDate
+    private Instant lastModifiedDate;
 
     public Company(String companyName, List<String> employeesId) {
         this.companyName = companyName;
         this.employeesId = employeesId;
     }
 
+    public Company(Company company) {
+        this.companyId = company.companyId;
+        this.companyName = company.companyName;
+        this.employeesId = company.employeesId == null ? null : new ArrayList<>(company.employeesId);
+        this.version = company.version;
+        this.lastModifiedDate = company.lastModifiedDate;
+    }
+
     public String getCompanyId() {
         return companyId;
     }
@@ -44,4 +63,20 @@ public class Company {
     public void setEmployeesId(List<String> employeesId) {
         this.employeesId = employeesId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
 }
@@ -0,0 +1,43 @@
+package com.thoughtworks.springbootemployee.model;
+
+import org.springframework.data.annotation.Id;
+
+public class CompanySummary {
+    @Id
+    private String companyId;
+    private String companyName;
+    private int employeesNumber;
+
+    public CompanySummary() {
+    }
+
+    public CompanySummary(String companyId, String companyName, int employeesNumber) {
+        this.companyId = companyId;
+        this.companyName = companyName;
+        this.employeesNumber = employeesNumber;
+    }
+
+    public String getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(String companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public int getEmployeesNumber() {
+        return employeesNumber;
+    }
+
+    public void setEmployeesNumber(int employeesNumber) {
+        this.employeesNumber = employeesNumber;
+    }
+}
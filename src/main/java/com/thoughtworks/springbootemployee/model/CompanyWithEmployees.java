@@ -0,0 +1,76 @@
+package com.thoughtworks.springbootemployee.model;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+import java.util.List;
+
+public class CompanyWithEmployees {
+    @Id
+    private String companyId;
+    private String companyName;
+    private List<String> employeesId;
+    private Long version;
+    private Instant lastModifiedDate;
+    private List<Employee> employees;
+
+    public CompanyWithEmployees() {
+    }
+
+    public CompanyWithEmployees(Company company, List<Employee> employees) {
+        this.companyId = company.getCompanyId();
+        this.companyName = company.getCompanyName();
+        this.employeesId = company.getEmployeesId();
+        this.version = company.getVersion();
+        this.lastModifiedDate = company.getLastModifiedDate();
+        this.employees = employees;
+    }
+
+    public String getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(String companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public List<String> getEmployeesId() {
+        return employeesId;
+    }
+
+    public void setEmployeesId(List<String> employeesId) {
+        this.employeesId = employeesId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+}
@@ -1,17 +1,34 @@
 package com.thoughtworks.springbootemployee.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
+import java.time.Instant;
+
 @Document
+@CompoundIndex(name = "gender_salary", def = "{'gender': 1, 'salary': 1}")
 public class Employee {
     @MongoId(FieldType.OBJECT_ID)
     private String id;
+    @Indexed
     private String name;
+    @Indexed
     private Integer age;
     private String gender;
+    @Indexed
     private Integer salary;
+    @Version
+    @JsonIgnore
+    private Long version;
+    @LastModifiedDate
+    @JsonIgnore
+    private Instant lastModifiedDate;
 
     public Employee() {
     }
@@ -23,6 +40,16 @@ public class Employee {
         this.salary = salary;
     }
 
+    public Employee(Employee employee) {
+        this.id = employee.id;
+        this.name = employee.name;
+        this.age = employee.age;
+        this.gender = employee.gender;
+        this.salary = employee.salary;
+        this.version = employee.version;
+        this.lastModifiedDate = employee.lastModifiedDate;
+    }
+
     public String getId() {
         return id;
     }
@@ -62,4 +89,20 @@ public class Employee {
     public void setSalary(Integer salary) {
         this.salary = salary;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
 }
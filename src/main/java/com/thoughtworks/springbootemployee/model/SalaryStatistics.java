@@ -0,0 +1,79 @@
+package com.thoughtworks.springbootemployee.model;
+
+public class SalaryStatistics {
+    private String group;
+    private long count;
+    private Double averageSalary;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Integer medianSalary;
+    private Integer p90Salary;
+    private Integer p99Salary;
+
+    public SalaryStatistics() {
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public void setAverageSalary(Double averageSalary) {
+        this.averageSalary = averageSalary;
+    }
+
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Integer minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Integer maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public Integer getMedianSalary() {
+        return medianSalary;
+    }
+
+    public void setMedianSalary(Integer medianSalary) {
+        this.medianSalary = medianSalary;
+    }
+
+    public Integer getP90Salary() {
+        return p90Salary;
+    }
+
+    public void setP90Salary(Integer p90Salary) {
+        this.p90Salary = p90Salary;
+    }
+
+    public Integer getP99Salary() {
+        return p99Salary;
+    }
+
+    public void setP99Salary(Integer p99Salary) {
+        this.p99Salary = p99Salary;
+    }
+}
@@ -0,0 +1,86 @@
+package com.thoughtworks.springbootemployee.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MongoCommandMonitor implements CommandListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoCommandMonitor.class);
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+    private static final Set<String> IGNORED_KEYS = new HashSet<>(Arrays.asList(
+            "$db", "lsid", "$clusterTime", "$readPreference", "txnNumber", "documents"));
+
+    private final Map<Integer, String> startedCommands = new ConcurrentHashMap<>();
+
+    @Value("${mongo.monitoring.slow-query-threshold-ms}")
+    private long slowQueryThresholdMs;
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryCountContext.increment();
+        startedCommands.put(event.getRequestId(), shape(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        logIfSlow(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        logIfSlow(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS));
+    }
+
+    private void logIfSlow(int requestId, long elapsedMs) {
+        String shape = startedCommands.remove(requestId);
+        if (shape != null && elapsedMs >= slowQueryThresholdMs) {
+            LOGGER.warn("Slow Mongo command took {} ms: {}", elapsedMs, shape);
+        }
+    }
+
+    static String shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (key.equals(commandName)) {
+                shape.put(key, value);
+            } else if (!IGNORED_KEYS.contains(key)) {
+                shape.put(key, shape(value));
+            }
+        });
+        return shape.toJson();
+    }
+
+    private static BsonValue shape(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> shape.put(key, shape(nested)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            value.asArray().stream()
+                    .map(MongoCommandMonitor::shape)
+                    .distinct()
+                    .forEach(shape::add);
+            return shape;
+        }
+        return PLACEHOLDER;
+    }
+}
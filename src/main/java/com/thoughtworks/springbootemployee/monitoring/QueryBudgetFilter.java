@@ -0,0 +1,125 @@
+package com.thoughtworks.springbootemployee.monitoring;
+
+import com.thoughtworks.springbootemployee.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Mongo-Query-Count";
+    private static final String COUNTER_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".COUNTER";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private Environment environment;
+
+    @Value("${mongo.monitoring.query-budget}")
+    private int queryBudget;
+
+    @Value("${mongo.monitoring.fail-on-exceed}")
+    private boolean failOnExceed;
+
+    @Override
+    protected void initFilterBean() {
+        if (failOnExceed && !environment.acceptsProfiles(Profiles.of("test"))) {
+            throw new IllegalStateException("mongo.monitoring.fail-on-exceed is a test-only assertion, enable it with the test profile only.");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            counter = QueryCountContext.start();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        } else {
+            QueryCountContext.attach(counter);
+        }
+        try {
+            filterChain.doFilter(request, new QueryCountResponse(response, counter));
+        } finally {
+            QueryCountContext.clear();
+        }
+        if (!isAsyncStarted(request)) {
+            checkBudget(request, response, counter.get());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void checkBudget(HttpServletRequest request, HttpServletResponse response, int queryCount) {
+        if (!response.isCommitted()) {
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(queryCount));
+        }
+        DistributionSummary.builder("mongo.commands.per.request")
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(queryCount);
+        if (queryCount > queryBudget) {
+            String message = String.format("%s %s issued %d Mongo commands, budget is %d.",
+                    request.getMethod(), request.getRequestURI(), queryCount, queryBudget);
+            if (failOnExceed) {
+                throw new QueryBudgetExceededException(message);
+            }
+            LOGGER.warn(message);
+        }
+    }
+
+    private static class QueryCountResponse extends HttpServletResponseWrapper {
+        private final AtomicInteger counter;
+
+        QueryCountResponse(HttpServletResponse response, AtomicInteger counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeQueryCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeQueryCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeQueryCount();
+            super.flushBuffer();
+        }
+
+        private void writeQueryCount() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(counter.get()));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.thoughtworks.springbootemployee.monitoring;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class QueryCountContext {
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+
+    private QueryCountContext() {
+    }
+
+    public static AtomicInteger start() {
+        AtomicInteger counter = new AtomicInteger();
+        COUNTER.set(counter);
+        return counter;
+    }
+
+    public static AtomicInteger current() {
+        return COUNTER.get();
+    }
+
+    public static void attach(AtomicInteger counter) {
+        if (counter == null) {
+            COUNTER.remove();
+        } else {
+            COUNTER.set(counter);
+        }
+    }
+
+    public static void clear() {
+        COUNTER.remove();
+    }
+
+    static void increment() {
+        AtomicInteger counter = COUNTER.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.thoughtworks.springbootemployee.monitoring;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryCountTaskDecorator implements TaskDecorator {
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        AtomicInteger counter = QueryCountContext.current();
+        return () -> {
+            AtomicInteger previous = QueryCountContext.current();
+            QueryCountContext.attach(counter);
+            try {
+                runnable.run();
+            } finally {
+                QueryCountContext.attach(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.thoughtworks.springbootemployee.pagination;
+
+import org.bson.types.ObjectId;
+
+import java.util.Base64;
+
+public final class CursorCodec {
+    private static final String INVALID_CURSOR = "Invalid cursor.";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(new ObjectId(id).toByteArray());
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new ObjectId(Base64.getUrlDecoder().decode(cursor)).toHexString();
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.thoughtworks.springbootemployee.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public final class ReactivePages {
+    private ReactivePages() {
+    }
+
+    public static <T> Mono<Page<T>> of(Flux<T> content, Mono<Long> total, Pageable pageable) {
+        return content.collectList().zipWith(total, (list, count) -> new PageImpl<>(list, pageable, count));
+    }
+}
@@ -0,0 +1,25 @@
+package com.thoughtworks.springbootemployee.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+public final class Slices {
+    private Slices() {
+    }
+
+    public static int lookAheadLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be greater than zero.");
+        }
+        return limit + 1;
+    }
+
+    public static <T> Slice<T> of(List<T> lookAheadContent, int limit) {
+        boolean hasNext = lookAheadContent.size() > limit;
+        List<T> content = hasNext ? lookAheadContent.subList(0, limit) : lookAheadContent;
+        return new SliceImpl<>(content, PageRequest.of(0, limit), hasNext);
+    }
+}
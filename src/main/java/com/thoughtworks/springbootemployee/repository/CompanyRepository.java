@@ -1,9 +1,14 @@
 package com.thoughtworks.springbootemployee.repository;
 
 import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CompanyRepository extends MongoRepository<Company, String> {
+public interface CompanyRepository extends MongoRepository<Company, String>, CompanyRepositoryCustom {
+    Page<Company> findAllByEmployeesId(String employeeId, Pageable pageable);
+
+    long countByEmployeesId(String employeeId);
 }
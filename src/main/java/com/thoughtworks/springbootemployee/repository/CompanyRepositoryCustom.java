@@ -0,0 +1,34 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CompanyRepositoryCustom {
+    List<Company> findAllAfter(String afterId, int limit);
+
+    List<Company> findAllWithFields(Collection<String> fields);
+
+    List<CompanySummary> findAllSummaries(Pageable pageable);
+
+    List<CompanySummary> findAllSummariesByEmployeesId(String employeeId, Pageable pageable);
+
+    List<CompanySummary> findAllSummariesAfter(String afterId, int limit);
+
+    Optional<Company> findVersionById(String companyId);
+
+    Optional<CompanyWithEmployees> findWithEmployeesById(String companyId);
+
+    Optional<Company> patch(String companyId, Company patch);
+
+    Optional<Company> replace(String companyId, Company company, long expectedVersion);
+
+    Optional<Company> addEmployees(String companyId, Collection<String> employeesId);
+
+    Optional<Company> removeEmployees(String companyId, Collection<String> employeesId);
+}
@@ -0,0 +1,146 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CompanyRepositoryCustomImpl implements CompanyRepositoryCustom {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Company> findAllWithFields(Collection<String> fields) {
+        return mongoTemplate.find(Queries.withFields(new Query(), fields), Company.class);
+    }
+
+    @Override
+    public List<Company> findAllAfter(String afterId, int limit) {
+        return mongoTemplate.find(Queries.after(afterId, limit), Company.class);
+    }
+
+    @Override
+    public List<CompanySummary> findAllSummaries(Pageable pageable) {
+        return aggregateSummaries(new Document(), pageable.isPaged() ? pageable.getOffset() : 0, pageable.isPaged() ? pageable.getPageSize() : null);
+    }
+
+    @Override
+    public List<CompanySummary> findAllSummariesByEmployeesId(String employeeId, Pageable pageable) {
+        return aggregateSummaries(new Document("employeesId", employeeId), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<CompanySummary> findAllSummariesAfter(String afterId, int limit) {
+        Document match = afterId == null ? new Document() : new Document("_id", new Document("$gt", new ObjectId(afterId)));
+        return aggregateSummaries(match, 0, limit);
+    }
+
+    @Override
+    public Optional<Company> findVersionById(String companyId) {
+        return Optional.ofNullable(mongoTemplate.findOne(Queries.versions(Queries.byId(companyId), "employeesId"), Company.class));
+    }
+
+    @Override
+    public Optional<CompanyWithEmployees> findWithEmployeesById(String companyId) {
+        Document toObjectId = new Document("$convert", new Document("input", "$$this")
+                .append("to", "objectId")
+                .append("onError", null)
+                .append("onNull", null));
+        Document employeeObjectIds = new Document("$map", new Document("input", new Document("$ifNull", Arrays.asList("$employeesId", new ArrayList<>())))
+                .append("in", toObjectId));
+        Document lookup = new Document("from", mongoTemplate.getCollectionName(Employee.class))
+                .append("localField", "employeeObjectIds")
+                .append("foreignField", "_id")
+                .append("as", "employees");
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                stage("$match", new Document("_id", new ObjectId(companyId))),
+                stage("$addFields", new Document("employeeObjectIds", employeeObjectIds)),
+                stage("$lookup", lookup),
+                stage("$project", new Document("employeeObjectIds", 0)));
+        CompanyWithEmployees company = mongoTemplate.aggregate(aggregation, Company.class, CompanyWithEmployees.class).getUniqueMappedResult();
+        if (company == null) {
+            return Optional.empty();
+        }
+        company.setEmployees(inMemberOrder(company));
+        return Optional.of(company);
+    }
+
+    private List<Employee> inMemberOrder(CompanyWithEmployees company) {
+        if (company.getEmployeesId() == null) {
+            return new ArrayList<>();
+        }
+        Map<String, Employee> employeesById = company.getEmployees().stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return company.getEmployeesId().stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Company> patch(String companyId, Company patch) {
+        return modify(companyId, Modifications.patch(patch));
+    }
+
+    @Override
+    public Optional<Company> replace(String companyId, Company company, long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Replacements.versioned(companyId, expectedVersion), Replacements.of(company, expectedVersion),
+                Modifications.RETURN_NEW, Company.class));
+    }
+
+    @Override
+    public Optional<Company> addEmployees(String companyId, Collection<String> employeesId) {
+        return modify(companyId, Modifications.addEmployees(employeesId));
+    }
+
+    @Override
+    public Optional<Company> removeEmployees(String companyId, Collection<String> employeesId) {
+        return modify(companyId, Modifications.removeEmployees(employeesId));
+    }
+
+    private Optional<Company> modify(String companyId, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Queries.byId(companyId), update, Modifications.RETURN_NEW, Company.class));
+    }
+
+    private List<CompanySummary> aggregateSummaries(Document match, long skip, Integer limit) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (!match.isEmpty()) {
+            operations.add(stage("$match", match));
+        }
+        operations.add(stage("$sort", new Document("_id", 1)));
+        if (skip > 0) {
+            operations.add(stage("$skip", skip));
+        }
+        if (limit != null) {
+            operations.add(stage("$limit", limit));
+        }
+        operations.add(stage("$project", new Document("companyName", 1)
+                .append("employeesNumber", new Document("$size", new Document("$ifNull", Arrays.asList("$employeesId", new ArrayList<>()))))));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(operations), Company.class, CompanySummary.class).getMappedResults();
+    }
+
+    private AggregationOperation stage(String operator, Object definition) {
+        return context -> new Document(operator, definition);
+    }
+}
@@ -0,0 +1,36 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+    CloseableIterator<Employee> streamAll(int batchSize);
+
+    CloseableIterator<Employee> streamAllByGender(String gender, int batchSize);
+
+    List<Employee> findAllAfter(String afterId, int limit);
+
+    Map<Integer, String> insertAllUnordered(List<Employee> employees);
+
+    List<String> findExistingIds(Collection<String> employeesId);
+
+    List<Employee> findAllById(Collection<String> employeesId, long maxTimeMs);
+
+    List<SalaryStatistics> aggregateSalaryStatistics(String groupByField, Collection<String> employeesId);
+
+    List<Employee> findAllWithFields(String gender, Collection<String> fields);
+
+    Optional<Employee> findVersionById(String employeeId);
+
+    List<Employee> findVersionsById(Collection<String> employeesId);
+
+    Optional<Employee> patch(String employeeId, Employee patch);
+
+    Optional<Employee> replace(String employeeId, Employee employee, long expectedVersion);
+}
@@ -0,0 +1,104 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public CloseableIterator<Employee> streamAll(int batchSize) {
+        return stream(new Query(), batchSize);
+    }
+
+    @Override
+    public CloseableIterator<Employee> streamAllByGender(String gender, int batchSize) {
+        return stream(Query.query(Criteria.where("gender").is(gender)), batchSize);
+    }
+
+    @Override
+    public List<Employee> findAllWithFields(String gender, Collection<String> fields) {
+        Query query = gender == null ? new Query() : Query.query(Criteria.where("gender").is(gender));
+        return mongoTemplate.find(Queries.withFields(query, fields), Employee.class);
+    }
+
+    @Override
+    public List<Employee> findAllAfter(String afterId, int limit) {
+        return mongoTemplate.find(Queries.after(afterId, limit), Employee.class);
+    }
+
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Employee> employees) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class)
+                    .insert(employees)
+                    .execute();
+            return Collections.emptyMap();
+        } catch (BulkOperationException exception) {
+            return exception.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+    }
+
+    @Override
+    public List<String> findExistingIds(Collection<String> employeesId) {
+        Query query = Queries.byIds(employeesId);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Employee.class).stream()
+                .map(Employee::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Employee> findAllById(Collection<String> employeesId, long maxTimeMs) {
+        return mongoTemplate.find(Queries.byIds(employeesId).maxTimeMsec(maxTimeMs), Employee.class);
+    }
+
+    @Override
+    public List<SalaryStatistics> aggregateSalaryStatistics(String groupByField, Collection<String> employeesId) {
+        Aggregation aggregation = SalaryStatisticsAggregation.of(groupByField, employeesId == null ? null : Queries.objectIds(employeesId));
+        return mongoTemplate.aggregate(aggregation, Employee.class, SalaryStatistics.class).getMappedResults();
+    }
+
+    @Override
+    public Optional<Employee> findVersionById(String employeeId) {
+        return Optional.ofNullable(mongoTemplate.findOne(Queries.versions(Queries.byId(employeeId)), Employee.class));
+    }
+
+    @Override
+    public List<Employee> findVersionsById(Collection<String> employeesId) {
+        return mongoTemplate.find(Queries.versions(Queries.byIds(employeesId)), Employee.class);
+    }
+
+    @Override
+    public Optional<Employee> patch(String employeeId, Employee patch) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Queries.byId(employeeId), Modifications.patch(patch), Modifications.RETURN_NEW, Employee.class));
+    }
+
+    @Override
+    public Optional<Employee> replace(String employeeId, Employee employee, long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(Replacements.versioned(employeeId, expectedVersion), Replacements.of(employee, expectedVersion),
+                Modifications.RETURN_NEW, Employee.class));
+    }
+
+    private CloseableIterator<Employee> stream(Query query, int batchSize) {
+        return mongoTemplate.stream(query.cursorBatchSize(batchSize), Employee.class);
+    }
+}
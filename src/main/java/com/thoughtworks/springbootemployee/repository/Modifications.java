@@ -0,0 +1,52 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+final class Modifications {
+    static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private Modifications() {
+    }
+
+    static Update patch(Employee patch) {
+        Update update = new Update();
+        setIfPresent(update, "name", patch.getName());
+        setIfPresent(update, "age", patch.getAge());
+        setIfPresent(update, "gender", patch.getGender());
+        setIfPresent(update, "salary", patch.getSalary());
+        return versioned(update);
+    }
+
+    static Update patch(Company patch) {
+        Update update = new Update();
+        setIfPresent(update, "companyName", patch.getCompanyName());
+        setIfPresent(update, "employeesId", patch.getEmployeesId());
+        return versioned(update);
+    }
+
+    static Update addEmployees(Collection<String> employeesId) {
+        return new Update().addToSet("employeesId").each(employeesId.toArray()).inc("version", 1).currentDate("lastModifiedDate");
+    }
+
+    static Update removeEmployees(Collection<String> employeesId) {
+        return new Update().pullAll("employeesId", employeesId.toArray()).inc("version", 1).currentDate("lastModifiedDate");
+    }
+
+    private static Update versioned(Update update) {
+        if (update.getUpdateObject().isEmpty()) {
+            throw new IllegalArgumentException("No fields to update.");
+        }
+        return update.inc("version", 1).currentDate("lastModifiedDate");
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+final class Queries {
+    private Queries() {
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(id)));
+    }
+
+    static Query byIds(Collection<String> ids) {
+        return Query.query(Criteria.where("_id").in(objectIds(ids)));
+    }
+
+    static Query after(String afterId, int limit) {
+        Query query = new Query().with(Sort.by("_id")).limit(limit);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(afterId)));
+        }
+        return query;
+    }
+
+    static Query withFields(Query query, Collection<String> fields) {
+        fields.forEach(query.fields()::include);
+        return query;
+    }
+
+    static Query versions(Query query, String... extraFields) {
+        query.fields().include("version").include("lastModifiedDate");
+        for (String field : extraFields) {
+            query.fields().include(field);
+        }
+        return query;
+    }
+
+    static List<ObjectId> objectIds(Collection<String> ids) {
+        return ids.stream()
+                .filter(ObjectId::isValid)
+                .map(ObjectId::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,17 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveCompanyRepository extends ReactiveMongoRepository<Company, String>, ReactiveCompanyRepositoryCustom {
+    Flux<Company> findAllBy(Pageable pageable);
+
+    Flux<Company> findAllByEmployeesId(String employeeId, Pageable pageable);
+
+    Mono<Long> countByEmployeesId(String employeeId);
+}
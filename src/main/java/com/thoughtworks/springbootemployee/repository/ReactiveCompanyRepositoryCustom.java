@@ -0,0 +1,23 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveCompanyRepositoryCustom {
+    Flux<Company> findAllAfter(String afterId, int limit);
+
+    Flux<Company> findAllWithFields(Collection<String> fields);
+
+    Mono<Company> findVersionById(String companyId);
+
+    Mono<Company> patch(String companyId, Company patch);
+
+    Mono<Company> replace(String companyId, Company company, long expectedVersion);
+
+    Mono<Company> addEmployees(String companyId, Collection<String> employeesId);
+
+    Mono<Company> removeEmployees(String companyId, Collection<String> employeesId);
+}
@@ -0,0 +1,57 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public class ReactiveCompanyRepositoryCustomImpl implements ReactiveCompanyRepositoryCustom {
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Company> findAllWithFields(Collection<String> fields) {
+        return reactiveMongoTemplate.find(Queries.withFields(new Query(), fields), Company.class);
+    }
+
+    @Override
+    public Flux<Company> findAllAfter(String afterId, int limit) {
+        return reactiveMongoTemplate.find(Queries.after(afterId, limit), Company.class);
+    }
+
+    @Override
+    public Mono<Company> findVersionById(String companyId) {
+        return reactiveMongoTemplate.findOne(Queries.versions(Queries.byId(companyId), "employeesId"), Company.class);
+    }
+
+    @Override
+    public Mono<Company> patch(String companyId, Company patch) {
+        return Mono.fromCallable(() -> Modifications.patch(patch))
+                .flatMap(update -> modify(companyId, update));
+    }
+
+    @Override
+    public Mono<Company> replace(String companyId, Company company, long expectedVersion) {
+        return reactiveMongoTemplate.findAndModify(Replacements.versioned(companyId, expectedVersion), Replacements.of(company, expectedVersion),
+                Modifications.RETURN_NEW, Company.class);
+    }
+
+    @Override
+    public Mono<Company> addEmployees(String companyId, Collection<String> employeesId) {
+        return modify(companyId, Modifications.addEmployees(employeesId));
+    }
+
+    @Override
+    public Mono<Company> removeEmployees(String companyId, Collection<String> employeesId) {
+        return modify(companyId, Modifications.removeEmployees(employeesId));
+    }
+
+    private Mono<Company> modify(String companyId, Update update) {
+        return reactiveMongoTemplate.findAndModify(Queries.byId(companyId), update, Modifications.RETURN_NEW, Company.class);
+    }
+}
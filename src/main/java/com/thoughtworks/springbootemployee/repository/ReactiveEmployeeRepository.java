@@ -0,0 +1,14 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveEmployeeRepository extends ReactiveMongoRepository<Employee, String>, ReactiveEmployeeRepositoryCustom {
+    Flux<Employee> findAllByGender(String gender);
+
+    Flux<Employee> findAllBy(Pageable pageable);
+}
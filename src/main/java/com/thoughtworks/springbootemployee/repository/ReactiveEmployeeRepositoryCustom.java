@@ -0,0 +1,30 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveEmployeeRepositoryCustom {
+    Flux<Employee> findAllAfter(String afterId, int limit);
+
+    Mono<Map<Integer, String>> insertAllUnordered(List<Employee> employees);
+
+    Flux<String> findExistingIds(Collection<String> employeesId);
+
+    Flux<SalaryStatistics> aggregateSalaryStatistics(String groupByField, Collection<String> employeesId);
+
+    Flux<Employee> findAllWithFields(String gender, Collection<String> fields);
+
+    Mono<Employee> findVersionById(String employeeId);
+
+    Flux<Employee> findVersionsById(Collection<String> employeesId);
+
+    Mono<Employee> patch(String employeeId, Employee patch);
+
+    Mono<Employee> replace(String employeeId, Employee employee, long expectedVersion);
+}
@@ -0,0 +1,90 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ReactiveEmployeeRepositoryCustomImpl implements ReactiveEmployeeRepositoryCustom {
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Employee> findAllWithFields(String gender, Collection<String> fields) {
+        Query query = gender == null ? new Query() : Query.query(Criteria.where("gender").is(gender));
+        return reactiveMongoTemplate.find(Queries.withFields(query, fields), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findAllAfter(String afterId, int limit) {
+        return reactiveMongoTemplate.find(Queries.after(afterId, limit), Employee.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertAllUnordered(List<Employee> employees) {
+        List<Document> documents = employees.stream()
+                .map(this::toDocument)
+                .collect(Collectors.toList());
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Employee.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+                .<Map<Integer, String>>map(result -> Collections.emptyMap())
+                .onErrorResume(MongoBulkWriteException.class, exception -> Mono.just(exception.getWriteErrors().stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage))));
+    }
+
+    @Override
+    public Flux<String> findExistingIds(Collection<String> employeesId) {
+        Query query = Queries.byIds(employeesId);
+        query.fields().include("_id");
+        return reactiveMongoTemplate.find(query, Employee.class)
+                .map(Employee::getId);
+    }
+
+    @Override
+    public Flux<SalaryStatistics> aggregateSalaryStatistics(String groupByField, Collection<String> employeesId) {
+        return reactiveMongoTemplate.aggregate(SalaryStatisticsAggregation.of(groupByField, employeesId == null ? null : Queries.objectIds(employeesId)),
+                Employee.class, SalaryStatistics.class);
+    }
+
+    @Override
+    public Mono<Employee> findVersionById(String employeeId) {
+        return reactiveMongoTemplate.findOne(Queries.versions(Queries.byId(employeeId)), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findVersionsById(Collection<String> employeesId) {
+        return reactiveMongoTemplate.find(Queries.versions(Queries.byIds(employeesId)), Employee.class);
+    }
+
+    @Override
+    public Mono<Employee> patch(String employeeId, Employee patch) {
+        return Mono.fromCallable(() -> Modifications.patch(patch))
+                .flatMap(update -> reactiveMongoTemplate.findAndModify(Queries.byId(employeeId), update, Modifications.RETURN_NEW, Employee.class));
+    }
+
+    @Override
+    public Mono<Employee> replace(String employeeId, Employee employee, long expectedVersion) {
+        return reactiveMongoTemplate.findAndModify(Replacements.versioned(employeeId, expectedVersion), Replacements.of(employee, expectedVersion),
+                Modifications.RETURN_NEW, Employee.class);
+    }
+
+    private Document toDocument(Employee employee) {
+        Document document = new Document();
+        reactiveMongoTemplate.getConverter().write(employee, document);
+        return document;
+    }
+}
@@ -0,0 +1,42 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+final class Replacements {
+    private Replacements() {
+    }
+
+    static Query versioned(String id, long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(new ObjectId(id));
+        return Query.query(expectedVersion == 0 ? criteria.and("version").in(0L, null) : criteria.and("version").is(expectedVersion));
+    }
+
+    static Update of(Employee employee, long expectedVersion) {
+        Update update = new Update();
+        setOrUnset(update, "name", employee.getName());
+        setOrUnset(update, "age", employee.getAge());
+        setOrUnset(update, "gender", employee.getGender());
+        setOrUnset(update, "salary", employee.getSalary());
+        return update.set("version", expectedVersion + 1).currentDate("lastModifiedDate");
+    }
+
+    static Update of(Company company, long expectedVersion) {
+        Update update = new Update();
+        setOrUnset(update, "companyName", company.getCompanyName());
+        setOrUnset(update, "employeesId", company.getEmployeesId());
+        return update.set("version", expectedVersion + 1).currentDate("lastModifiedDate");
+    }
+
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value == null) {
+            update.unset(field);
+            return;
+        }
+        update.set(field, value);
+    }
+}
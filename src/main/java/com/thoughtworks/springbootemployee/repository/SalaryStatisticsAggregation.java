@@ -0,0 +1,55 @@
+package com.thoughtworks.springbootemployee.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Percentiles are picked from each group's sorted salaries in the same pass as the other statistics, so a
+// group's salary array has to fit in one 16MB BSON document once $group spills to disk. That caps a group at
+// roughly one million employees; larger groups fail the aggregation instead of returning approximate values.
+final class SalaryStatisticsAggregation {
+    private SalaryStatisticsAggregation() {
+    }
+
+    static Aggregation of(String groupByField, Collection<ObjectId> employeesId) {
+        Criteria criteria = Criteria.where("salary").ne(null);
+        if (employeesId != null) {
+            criteria.and("_id").in(employeesId);
+        }
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                stage("$sort", new Document("salary", 1)),
+                stage("$group", new Document("_id", groupByField == null ? null : "$" + groupByField)
+                        .append("count", new Document("$sum", 1))
+                        .append("averageSalary", new Document("$avg", "$salary"))
+                        .append("minSalary", new Document("$min", "$salary"))
+                        .append("maxSalary", new Document("$max", "$salary"))
+                        .append("salaries", new Document("$push", "$salary"))),
+                stage("$project", new Document("_id", 0)
+                        .append("group", "$_id")
+                        .append("count", 1)
+                        .append("averageSalary", 1)
+                        .append("minSalary", 1)
+                        .append("maxSalary", 1)
+                        .append("medianSalary", salaryAt(0.5))
+                        .append("p90Salary", salaryAt(0.9))
+                        .append("p99Salary", salaryAt(0.99))),
+                stage("$sort", new Document("group", 1)))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+    }
+
+    private static Document salaryAt(double percentile) {
+        Document lastIndex = new Document("$subtract", Arrays.asList("$count", 1));
+        Document index = new Document("$toInt", new Document("$floor", new Document("$multiply", Arrays.asList(percentile, lastIndex))));
+        return new Document("$arrayElemAt", Arrays.asList("$salaries", index));
+    }
+
+    private static AggregationOperation stage(String operator, Document definition) {
+        return context -> new Document(operator, definition);
+    }
+}
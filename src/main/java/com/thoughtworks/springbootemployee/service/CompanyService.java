@@ -1,23 +1,45 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfig;
 import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
 import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.CompanySummary;
+import com.thoughtworks.springbootemployee.model.CompanyWithEmployees;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.pagination.Slices;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CompanyService {
+    public static final String LOOKUP_HYDRATION = "lookup";
+
     @Autowired
     private CompanyRepository companyRepository;
     @Autowired
     private EmployeeService employeeService;
+    @Value("${company.hydration:lookup}")
+    private String hydration;
 
     public CompanyService(CompanyRepository companyRepository, EmployeeService employeeService) {
         this.companyRepository = companyRepository;
@@ -28,36 +50,123 @@ public class CompanyService {
         return companyRepository.findAll();
     }
 
+    public List<Company> getCompanies(Set<String> fields) {
+        return fields.isEmpty() ? getCompanies() : companyRepository.findAllWithFields(fields);
+    }
+
+    public List<CompanySummary> getCompanySummaries() {
+        return companyRepository.findAllSummaries(Pageable.unpaged());
+    }
+
     public Company createCompany(Company company) throws EmployeeNotFoundException {
-        if (company.getEmployeesId().stream().allMatch(employeeService::employeeExists)) {
-            return companyRepository.save(company);
-        }
-        throw new EmployeeNotFoundException();
+        validateEmployeesExist(company.getEmployeesId());
+        return companyRepository.save(company);
     }
 
+    @Cacheable(CacheConfig.COMPANIES_CACHE)
     public Company getCompany(String companyId) throws CompanyNotFoundException {
         return companyRepository.findById(companyId).orElseThrow(CompanyNotFoundException::new);
     }
 
+    public Company getCompanyVersion(String companyId) throws CompanyNotFoundException {
+        return companyRepository.findVersionById(companyId).orElseThrow(CompanyNotFoundException::new);
+    }
+
+    public CompanyWithEmployees getCompanyWithEmployees(String companyId) throws CompanyNotFoundException {
+        if (LOOKUP_HYDRATION.equals(hydration)) {
+            return companyRepository.findWithEmployeesById(companyId).orElseThrow(CompanyNotFoundException::new);
+        }
+        Company company = companyRepository.findById(companyId).orElseThrow(CompanyNotFoundException::new);
+        return new CompanyWithEmployees(company, employeeService.getEmployeesById(PlainCompanyMapper.employeesIdOf(company)));
+    }
+
     public List<Employee> getEmployeeList(String companyId) throws CompanyNotFoundException {
-        return employeeService.getEmployeesById(getCompany(companyId).getEmployeesId());
+        return getCompanyWithEmployees(companyId).getEmployees();
+    }
+
+    public SalaryStatistics getCompanyStatistics(String companyId) throws CompanyNotFoundException {
+        Company company = companyRepository.findById(companyId).orElseThrow(CompanyNotFoundException::new);
+        return employeeService.getSalaryStatistics(PlainCompanyMapper.employeesIdOf(company));
     }
 
     public Page<Company> getCompaniesPaginated(int page, int pageSize) {
         return companyRepository.findAll(PageRequest.of(page - 1, pageSize));
     }
 
+    public Page<CompanySummary> getCompanySummariesPaginated(int page, int pageSize) {
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        return PageableExecutionUtils.getPage(companyRepository.findAllSummaries(pageable), pageable, companyRepository::count);
+    }
+
+    public Page<Company> getCompaniesByEmployee(String employeeId, int page, int pageSize) throws EmployeeNotFoundException {
+        employeeService.getEmployee(employeeId);
+        return companyRepository.findAllByEmployeesId(employeeId, PageRequest.of(page - 1, pageSize, Sort.by("_id")));
+    }
+
+    public Page<CompanySummary> getCompanySummariesByEmployee(String employeeId, int page, int pageSize) throws EmployeeNotFoundException {
+        employeeService.getEmployee(employeeId);
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        return PageableExecutionUtils.getPage(companyRepository.findAllSummariesByEmployeesId(employeeId, pageable), pageable,
+                () -> companyRepository.countByEmployeesId(employeeId));
+    }
+
+    public Slice<Company> getCompaniesAfter(String cursor, int limit) {
+        String afterId = cursor == null ? null : CursorCodec.decode(cursor);
+        return Slices.of(companyRepository.findAllAfter(afterId, Slices.lookAheadLimit(limit)), limit);
+    }
+
+    public Slice<CompanySummary> getCompanySummariesAfter(String cursor, int limit) {
+        String afterId = cursor == null ? null : CursorCodec.decode(cursor);
+        return Slices.of(companyRepository.findAllSummariesAfter(afterId, Slices.lookAheadLimit(limit)), limit);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
     public Company updateCompany(String companyId, Company companyUpdated) throws CompanyNotFoundException, EmployeeNotFoundException {
-        if (this.companyRepository.existsById(companyId)) {
-            if (companyUpdated.getEmployeesId().stream().allMatch(employeeService::employeeExists)) {
-                companyUpdated.setCompanyId(companyId);
-                return companyRepository.save(companyUpdated);
-            }
-            throw new EmployeeNotFoundException();
+        return updateCompany(companyId, companyUpdated, null);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
+    public Company updateCompany(String companyId, Company companyUpdated, Long expectedVersion) throws CompanyNotFoundException, EmployeeNotFoundException {
+        long currentVersion = Optional.ofNullable(getCompanyVersion(companyId).getVersion()).orElse(0L);
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new OptimisticLockingFailureException("Company has been modified.");
         }
-        throw new CompanyNotFoundException();
+        validateEmployeesExist(companyUpdated.getEmployeesId());
+        Optional<Company> replaced = companyRepository.replace(companyId, companyUpdated, currentVersion);
+        if (!replaced.isPresent() && !companyRepository.existsById(companyId)) {
+            throw new CompanyNotFoundException();
+        }
+        return replaced.orElseThrow(() -> new OptimisticLockingFailureException("Company has been modified."));
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
+    public Company patchCompany(String companyId, Company patch) throws CompanyNotFoundException, EmployeeNotFoundException {
+        if (patch.getEmployeesId() != null) {
+            validateEmployeesExist(patch.getEmployeesId());
+        }
+        return companyRepository.patch(companyId, patch).orElseThrow(CompanyNotFoundException::new);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
+    public Company addEmployees(String companyId, List<String> employeesId) throws CompanyNotFoundException, EmployeeNotFoundException {
+        requireEmployeesId(employeesId);
+        validateEmployeesExist(employeesId);
+        return companyRepository.addEmployees(companyId, employeesId).orElseThrow(CompanyNotFoundException::new);
     }
 
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
+    public Company removeEmployees(String companyId, List<String> employeesId) throws CompanyNotFoundException {
+        requireEmployeesId(employeesId);
+        return companyRepository.removeEmployees(companyId, employeesId).orElseThrow(CompanyNotFoundException::new);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES_CACHE, key = "#companyId")})
     public void deleteCompany(String companyId) throws CompanyNotFoundException {
         if (companyRepository.existsById(companyId)) {
             companyRepository.deleteById(companyId);
@@ -65,4 +174,20 @@ public class CompanyService {
         }
         throw new CompanyNotFoundException();
     }
+
+    private void requireEmployeesId(List<String> employeesId) {
+        if (employeesId == null || employeesId.isEmpty()) {
+            throw new IllegalArgumentException("Employee ids must not be empty.");
+        }
+    }
+
+    private void validateEmployeesExist(List<String> employeesId) throws EmployeeNotFoundException {
+        if (employeesId.isEmpty()) {
+            return;
+        }
+        List<String> missingEmployeesId = employeeService.getMissingEmployeesId(employeesId);
+        if (!missingEmployeesId.isEmpty()) {
+            throw new EmployeeNotFoundException(missingEmployeesId);
+        }
+    }
 }
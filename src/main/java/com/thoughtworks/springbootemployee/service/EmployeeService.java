@@ -1,50 +1,136 @@
 package com.thoughtworks.springbootemployee.service;
 
+import com.thoughtworks.springbootemployee.config.CacheConfig;
 import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.pagination.Slices;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 public class EmployeeService {
+    static final List<String> STATISTICS_GROUPS = Collections.singletonList("gender");
+
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Value("${employee.streaming.batch-size:500}")
+    private int streamingBatchSize;
 
     public List<Employee> getEmployees() {
         return employeeRepository.findAll();
     }
 
+    public List<Employee> getEmployees(Set<String> fields) {
+        return fields.isEmpty() ? getEmployees() : employeeRepository.findAllWithFields(null, fields);
+    }
+
+    public CloseableIterator<Employee> streamEmployees() {
+        return employeeRepository.streamAll(streamingBatchSize);
+    }
+
+    public CloseableIterator<Employee> streamEmployeesByGender(String gender) {
+        return employeeRepository.streamAllByGender(gender, streamingBatchSize);
+    }
+
     public Page<Employee> getEmployeesPaginated(Integer page, Integer pageSize) {
         return employeeRepository.findAll(PageRequest.of(page - 1, pageSize));
     }
 
+    public Slice<Employee> getEmployeesAfter(String cursor, int limit) {
+        String afterId = cursor == null ? null : CursorCodec.decode(cursor);
+        return Slices.of(employeeRepository.findAllAfter(afterId, Slices.lookAheadLimit(limit)), limit);
+    }
+
+    @Cacheable(CacheConfig.EMPLOYEES_CACHE)
     public Employee getEmployee(String employeeId) throws EmployeeNotFoundException {
         return employeeRepository.findById(employeeId).orElseThrow(EmployeeNotFoundException::new);
     }
 
+    public Employee getEmployeeVersion(String employeeId) throws EmployeeNotFoundException {
+        return employeeRepository.findVersionById(employeeId).orElseThrow(EmployeeNotFoundException::new);
+    }
+
+    public List<Employee> getEmployeeVersions(List<String> employeesId) {
+        return employeesId.isEmpty() ? Collections.emptyList() : employeeRepository.findVersionsById(employeesId);
+    }
+
     public List<Employee> getEmployeesByGender(String gender) {
         return employeeRepository.findAllByGender(gender);
     }
 
+    public List<Employee> getEmployeesByGender(String gender, Set<String> fields) {
+        return fields.isEmpty() ? getEmployeesByGender(gender) : employeeRepository.findAllWithFields(gender, fields);
+    }
+
     public Employee createEmployee(Employee employee) {
         return employeeRepository.save(employee);
     }
 
+    public Map<Integer, String> createEmployees(List<Employee> employees) {
+        employees.forEach(employee -> {
+            employee.setId(new ObjectId().toHexString());
+            employee.setVersion(0L);
+        });
+        return employeeRepository.insertAllUnordered(employees);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")})
     public Employee updateEmployee(String employeeId, Employee employee) throws EmployeeNotFoundException {
-        if (this.employeeRepository.existsById(employeeId)) {
-            employee.setId(employeeId);
-            return employeeRepository.save(employee);
+        return updateEmployee(employeeId, employee, null);
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")})
+    public Employee updateEmployee(String employeeId, Employee employee, Long expectedVersion) throws EmployeeNotFoundException {
+        long currentVersion = Optional.ofNullable(getEmployeeVersion(employeeId).getVersion()).orElse(0L);
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new OptimisticLockingFailureException("Employee has been modified.");
         }
-        throw new EmployeeNotFoundException();
+        Optional<Employee> replaced = employeeRepository.replace(employeeId, employee, currentVersion);
+        if (!replaced.isPresent() && !employeeRepository.existsById(employeeId)) {
+            throw new EmployeeNotFoundException();
+        }
+        return replaced.orElseThrow(() -> new OptimisticLockingFailureException("Employee has been modified."));
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")})
+    public Employee patchEmployee(String employeeId, Employee patch) throws EmployeeNotFoundException {
+        return employeeRepository.patch(employeeId, patch).orElseThrow(EmployeeNotFoundException::new);
     }
 
+    @Caching(evict = {@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")})
     public void deleteEmployee(String employeeId) throws EmployeeNotFoundException {
         if (this.employeeRepository.existsById(employeeId)) {
             employeeRepository.deleteById(employeeId);
@@ -55,12 +141,55 @@ public class EmployeeService {
     }
 
     public List<Employee> getEmployeesById(List<String> employeesId) {
-        return StreamSupport
-                .stream(employeeRepository.findAllById(employeesId).spliterator(), false)
+        return getEmployeesById(employeesId, employeeRepository::findAllById);
+    }
+
+    public List<Employee> getEmployeesById(List<String> employeesId, long maxTimeMs) {
+        return getEmployeesById(employeesId, missedEmployeesId -> employeeRepository.findAllById(missedEmployeesId, maxTimeMs));
+    }
+
+    private List<Employee> getEmployeesById(List<String> employeesId, Function<List<String>, Iterable<Employee>> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        Map<String, Employee> employeesById = new LinkedHashMap<>();
+        List<String> missedEmployeesId = new ArrayList<>();
+        for (String employeeId : employeesId) {
+            Employee employee = cache.get(employeeId, Employee.class);
+            if (employee == null) {
+                missedEmployeesId.add(employeeId);
+            }
+            employeesById.put(employeeId, employee);
+        }
+
+        if (!missedEmployeesId.isEmpty()) {
+            loader.apply(missedEmployeesId).forEach(employee -> {
+                cache.putIfAbsent(employee.getId(), employee);
+                employeesById.put(employee.getId(), employee);
+            });
+        }
+
+        return employeesById.values().stream()
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    public boolean employeeExists(String employeeId) {
-        return employeeRepository.existsById(employeeId);
+    public List<SalaryStatistics> getSalaryStatistics(String groupBy) {
+        if (groupBy != null && !STATISTICS_GROUPS.contains(groupBy)) {
+            throw new IllegalArgumentException("Unsupported groupBy: " + groupBy + ".");
+        }
+        return employeeRepository.aggregateSalaryStatistics(groupBy, null);
+    }
+
+    public SalaryStatistics getSalaryStatistics(List<String> employeesId) {
+        return employeeRepository.aggregateSalaryStatistics(null, employeesId).stream()
+                .findFirst()
+                .orElseGet(SalaryStatistics::new);
+    }
+
+    public List<String> getMissingEmployeesId(List<String> employeesId) {
+        Set<String> existingEmployeesId = new HashSet<>(employeeRepository.findExistingIds(employeesId));
+        return employeesId.stream()
+                .filter(employeeId -> !existingEmployeesId.contains(employeeId))
+                .distinct()
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,138 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.mapper.PlainCompanyMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.pagination.ReactivePages;
+import com.thoughtworks.springbootemployee.pagination.Slices;
+import com.thoughtworks.springbootemployee.repository.ReactiveCompanyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Profile("reactive")
+public class ReactiveCompanyService {
+    @Autowired
+    private ReactiveCompanyRepository companyRepository;
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    public Flux<Company> getCompanies() {
+        return companyRepository.findAll();
+    }
+
+    public Flux<Company> getCompanies(Set<String> fields) {
+        return fields.isEmpty() ? getCompanies() : companyRepository.findAllWithFields(fields);
+    }
+
+    public Mono<Company> getCompany(String companyId) {
+        return companyRepository.findById(companyId).switchIfEmpty(Mono.error(new CompanyNotFoundException()));
+    }
+
+    public Mono<Company> getCompanyVersion(String companyId) {
+        return companyRepository.findVersionById(companyId).switchIfEmpty(Mono.error(new CompanyNotFoundException()));
+    }
+
+    public Flux<Employee> getEmployeeList(String companyId) {
+        return getCompany(companyId).flatMapMany(company -> employeeService.getEmployeesById(PlainCompanyMapper.employeesIdOf(company)));
+    }
+
+    public Mono<SalaryStatistics> getCompanyStatistics(String companyId) {
+        return getCompany(companyId).flatMap(company -> employeeService.getSalaryStatistics(PlainCompanyMapper.employeesIdOf(company)));
+    }
+
+    public Mono<Page<Company>> getCompaniesPaginated(int page, int pageSize) {
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        return ReactivePages.of(companyRepository.findAllBy(pageable), companyRepository.count(), pageable);
+    }
+
+    public Mono<Page<Company>> getCompaniesByEmployee(String employeeId, int page, int pageSize) {
+        Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by("_id"));
+        return employeeService.getEmployee(employeeId)
+                .then(ReactivePages.of(companyRepository.findAllByEmployeesId(employeeId, pageable), companyRepository.countByEmployeesId(employeeId), pageable));
+    }
+
+    public Mono<Slice<Company>> getCompaniesAfter(String cursor, int limit) {
+        return Mono.defer(() -> {
+            String afterId = cursor == null ? null : CursorCodec.decode(cursor);
+            return companyRepository.findAllAfter(afterId, Slices.lookAheadLimit(limit))
+                    .collectList()
+                    .map(companies -> Slices.of(companies, limit));
+        });
+    }
+
+    public Mono<Company> createCompany(Company company) {
+        return validateEmployeesExist(company.getEmployeesId()).then(Mono.defer(() -> companyRepository.save(company)));
+    }
+
+    public Mono<Company> updateCompany(String companyId, Company companyUpdated, Long expectedVersion) {
+        return getCompany(companyId).flatMap(current -> {
+            long currentVersion = Optional.ofNullable(current.getVersion()).orElse(0L);
+            if (expectedVersion != null && expectedVersion != currentVersion) {
+                return Mono.error(new OptimisticLockingFailureException("Company has been modified."));
+            }
+            return validateEmployeesExist(companyUpdated.getEmployeesId())
+                    .then(Mono.defer(() -> companyRepository.replace(companyId, companyUpdated, currentVersion)))
+                    .switchIfEmpty(Mono.defer(() -> companyRepository.existsById(companyId)
+                            .flatMap(exists -> Mono.<Company>error(exists ? new OptimisticLockingFailureException("Company has been modified.") : new CompanyNotFoundException()))));
+        });
+    }
+
+    public Mono<Company> patchCompany(String companyId, Company patch) {
+        Mono<Void> validation = patch.getEmployeesId() == null ? Mono.empty() : validateEmployeesExist(patch.getEmployeesId());
+        return validation.then(Mono.defer(() -> companyRepository.patch(companyId, patch)))
+                .switchIfEmpty(Mono.error(new CompanyNotFoundException()));
+    }
+
+    public Mono<Company> addEmployees(String companyId, List<String> employeesId) {
+        return requireEmployeesId(employeesId)
+                .then(Mono.defer(() -> validateEmployeesExist(employeesId)))
+                .then(Mono.defer(() -> companyRepository.addEmployees(companyId, employeesId)))
+                .switchIfEmpty(Mono.error(new CompanyNotFoundException()));
+    }
+
+    public Mono<Company> removeEmployees(String companyId, List<String> employeesId) {
+        return requireEmployeesId(employeesId)
+                .then(Mono.defer(() -> companyRepository.removeEmployees(companyId, employeesId)))
+                .switchIfEmpty(Mono.error(new CompanyNotFoundException()));
+    }
+
+    public Mono<Void> deleteCompany(String companyId) {
+        return companyRepository.existsById(companyId)
+                .flatMap(exists -> exists ? companyRepository.deleteById(companyId) : Mono.<Void>error(new CompanyNotFoundException()));
+    }
+
+    private Mono<Void> requireEmployeesId(List<String> employeesId) {
+        if (employeesId == null || employeesId.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Employee ids must not be empty."));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Void> validateEmployeesExist(List<String> employeesId) {
+        if (employeesId.isEmpty()) {
+            return Mono.empty();
+        }
+        return employeeService.getMissingEmployeesId(employeesId)
+                .flatMap(missingEmployeesId -> missingEmployeesId.isEmpty()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new EmployeeNotFoundException(missingEmployeesId)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.model.SalaryStatistics;
+import com.thoughtworks.springbootemployee.pagination.CursorCodec;
+import com.thoughtworks.springbootemployee.pagination.ReactivePages;
+import com.thoughtworks.springbootemployee.pagination.Slices;
+import com.thoughtworks.springbootemployee.repository.ReactiveEmployeeRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    public Flux<Employee> getEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Flux<Employee> getEmployees(Set<String> fields) {
+        return fields.isEmpty() ? getEmployees() : employeeRepository.findAllWithFields(null, fields);
+    }
+
+    public Flux<Employee> getEmployeesByGender(String gender) {
+        return employeeRepository.findAllByGender(gender);
+    }
+
+    public Flux<Employee> getEmployeesByGender(String gender, Set<String> fields) {
+        return fields.isEmpty() ? getEmployeesByGender(gender) : employeeRepository.findAllWithFields(gender, fields);
+    }
+
+    public Mono<Page<Employee>> getEmployeesPaginated(int page, int pageSize) {
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        return ReactivePages.of(employeeRepository.findAllBy(pageable), employeeRepository.count(), pageable);
+    }
+
+    public Mono<Slice<Employee>> getEmployeesAfter(String cursor, int limit) {
+        return Mono.defer(() -> {
+            String afterId = cursor == null ? null : CursorCodec.decode(cursor);
+            return employeeRepository.findAllAfter(afterId, Slices.lookAheadLimit(limit))
+                    .collectList()
+                    .map(employees -> Slices.of(employees, limit));
+        });
+    }
+
+    public Mono<Employee> getEmployee(String employeeId) {
+        return employeeRepository.findById(employeeId).switchIfEmpty(Mono.error(new EmployeeNotFoundException()));
+    }
+
+    public Mono<Employee> getEmployeeVersion(String employeeId) {
+        return employeeRepository.findVersionById(employeeId).switchIfEmpty(Mono.error(new EmployeeNotFoundException()));
+    }
+
+    public Flux<Employee> getEmployeeVersions(List<String> employeesId) {
+        return employeesId.isEmpty() ? Flux.empty() : employeeRepository.findVersionsById(employeesId);
+    }
+
+    public Flux<Employee> getEmployeesById(List<String> employeesId) {
+        if (employeesId.isEmpty()) {
+            return Flux.empty();
+        }
+        return employeeRepository.findAllById(employeesId)
+                .collectMap(Employee::getId)
+                .flatMapMany(employeesById -> Flux.fromIterable(employeesId)
+                        .filter(employeesById::containsKey)
+                        .map(employeesById::get));
+    }
+
+    public Mono<List<String>> getMissingEmployeesId(List<String> employeesId) {
+        return employeeRepository.findExistingIds(employeesId)
+                .collect(Collectors.toSet())
+                .map(existingEmployeesId -> employeesId.stream()
+                        .filter(employeeId -> !existingEmployeesId.contains(employeeId))
+                        .distinct()
+                        .collect(Collectors.toList()));
+    }
+
+    public Flux<SalaryStatistics> getSalaryStatistics(String groupBy) {
+        if (groupBy != null && !EmployeeService.STATISTICS_GROUPS.contains(groupBy)) {
+            return Flux.error(new IllegalArgumentException("Unsupported groupBy: " + groupBy + "."));
+        }
+        return employeeRepository.aggregateSalaryStatistics(groupBy, null);
+    }
+
+    public Mono<SalaryStatistics> getSalaryStatistics(List<String> employeesId) {
+        return employeeRepository.aggregateSalaryStatistics(null, employeesId)
+                .next()
+                .defaultIfEmpty(new SalaryStatistics());
+    }
+
+    public Mono<Employee> createEmployee(Employee employee) {
+        return employeeRepository.save(employee);
+    }
+
+    public Mono<Map<Integer, String>> createEmployees(List<Employee> employees) {
+        employees.forEach(employee -> {
+            employee.setId(new ObjectId().toHexString());
+            employee.setVersion(0L);
+        });
+        return employeeRepository.insertAllUnordered(employees);
+    }
+
+    public Mono<Employee> updateEmployee(String employeeId, Employee employee, Long expectedVersion) {
+        return getEmployee(employeeId).flatMap(current -> {
+            long currentVersion = Optional.ofNullable(current.getVersion()).orElse(0L);
+            if (expectedVersion != null && expectedVersion != currentVersion) {
+                return Mono.error(new OptimisticLockingFailureException("Employee has been modified."));
+            }
+            return employeeRepository.replace(employeeId, employee, currentVersion)
+                    .switchIfEmpty(Mono.defer(() -> employeeRepository.existsById(employeeId)
+                            .flatMap(exists -> Mono.<Employee>error(exists ? new OptimisticLockingFailureException("Employee has been modified.") : new EmployeeNotFoundException()))));
+        });
+    }
+
+    public Mono<Employee> patchEmployee(String employeeId, Employee patch) {
+        return employeeRepository.patch(employeeId, patch).switchIfEmpty(Mono.error(new EmployeeNotFoundException()));
+    }
+
+    public Mono<Void> deleteEmployee(String employeeId) {
+        return employeeRepository.existsById(employeeId)
+                .flatMap(exists -> exists ? employeeRepository.deleteById(employeeId) : Mono.<Void>error(new EmployeeNotFoundException()));
+    }
+}
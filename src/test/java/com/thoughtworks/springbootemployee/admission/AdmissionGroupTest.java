@@ -0,0 +1,46 @@
+package com.thoughtworks.springbootemployee.admission;
+
+import com.thoughtworks.springbootemployee.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdmissionGroupTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_reject_until_a_permit_is_released_when_admit_given_max_concurrent_reached() {
+        //given
+        AdmissionGroup admissionGroup = new AdmissionGroup("listing", 1, 0, 0, 0, 3, meterRegistry);
+        AdmissionGroup.Permit permit = admissionGroup.admit();
+
+        //when
+        final TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, admissionGroup::admit);
+        permit.release();
+        permit.release();
+
+        //then
+        assertEquals(3, exception.getRetryAfterSeconds());
+        admissionGroup.admit();
+        assertThrows(TooManyRequestsException.class, admissionGroup::admit);
+        assertEquals(1, meterRegistry.get("admission.active").tag("group", "listing").gauge().value());
+        assertEquals(2, meterRegistry.get("admission.requests").tags("group", "listing", "outcome", "concurrency_limited").counter().count());
+    }
+
+    @Test
+    void should_reject_with_retry_after_when_admit_given_burst_exhausted() {
+        //given
+        AdmissionGroup admissionGroup = new AdmissionGroup("lookup", 10, 0, 0.5, 1, 1, meterRegistry);
+        admissionGroup.admit().release();
+
+        //when
+        final TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, admissionGroup::admit);
+
+        //then
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("admission.requests").tags("group", "lookup", "outcome", "rate_limited").counter().count());
+    }
+}
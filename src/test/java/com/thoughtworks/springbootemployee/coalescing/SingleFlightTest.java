@@ -0,0 +1,175 @@
+package com.thoughtworks.springbootemployee.coalescing;
+
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>("company", true, 500, meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch loaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_load_once_and_share_result_when_execute_given_concurrent_calls_with_same_key() throws Exception {
+        //given
+        Object expected = new Object();
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            release.await();
+            return expected;
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        //when
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("1", () -> {
+            loads.incrementAndGet();
+            return new Object();
+        }));
+        awaitCollapsed();
+        release.countDown();
+
+        //then
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, counter("executed").count());
+    }
+
+    @Test
+    void should_rethrow_leader_exception_when_execute_given_follower_waiting_on_failed_load() throws Exception {
+        //given
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+            loaderStarted.countDown();
+            release.await();
+            throw new CompanyNotFoundException();
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("1", Object::new));
+        awaitCollapsed();
+
+        //when
+        release.countDown();
+
+        //then
+        assertTrue(assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause() instanceof CompanyNotFoundException);
+        assertTrue(assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause() instanceof CompanyNotFoundException);
+    }
+
+    @Test
+    void should_load_itself_when_execute_given_leader_slower_than_timeout() throws Exception {
+        //given
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+            loaderStarted.countDown();
+            release.await();
+            return new Object();
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        Object expected = new Object();
+
+        //when
+        Object actual = singleFlight.execute("1", () -> expected);
+
+        //then
+        assertSame(expected, actual);
+        assertEquals(1, counter("collapsed").count());
+        assertEquals(1, counter("timed-out").count());
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void should_load_again_when_execute_given_previous_flight_completed() {
+        //given
+        singleFlight.execute("1", Object::new);
+
+        //when
+        singleFlight.execute("1", Object::new);
+
+        //then
+        assertEquals(2, counter("executed").count());
+        assertEquals(0, counter("collapsed").count());
+    }
+
+    @Test
+    void should_load_again_when_execute_given_in_flight_load_forgotten() throws Exception {
+        //given
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("1|name", () -> {
+            loaderStarted.countDown();
+            release.await();
+            return new Object();
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        Object expected = new Object();
+
+        //when
+        singleFlight.forget(key -> key.startsWith("1|"));
+        Object actual = singleFlight.execute("1|name", () -> expected);
+
+        //then
+        assertSame(expected, actual);
+        assertEquals(2, counter("executed").count());
+        assertEquals(0, counter("collapsed").count());
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void should_share_in_flight_load_when_execute_given_other_keys_forgotten() throws Exception {
+        //given
+        Object expected = new Object();
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("1|name", () -> {
+            loaderStarted.countDown();
+            release.await();
+            return expected;
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        //when
+        singleFlight.forget(key -> key.startsWith("11|"));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("1|name", Object::new));
+        awaitCollapsed();
+        release.countDown();
+
+        //then
+        assertSame(expected, leader.get(5, TimeUnit.SECONDS));
+        assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, counter("executed").count());
+        assertTrue(singleFlight.isIdle());
+    }
+
+    private void awaitCollapsed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter("collapsed").count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, counter("collapsed").count());
+    }
+
+    private Counter counter(String outcome) {
+        return meterRegistry.get("singleflight.calls").tags("name", "company", "outcome", outcome).counter();
+    }
+}
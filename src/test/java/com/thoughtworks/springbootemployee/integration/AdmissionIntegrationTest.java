@@ -0,0 +1,74 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"admission.lookup.permits-per-second=0.01", "admission.lookup.burst=1"})
+@AutoConfigureMockMvc
+public class AdmissionIntegrationTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_return_429_with_retry_after_when_get_employee_given_lookup_rate_limit_exceeded() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(get("/employees/" + employee.getId()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"));
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk());
+        assertEquals(1, meterRegistry.get("admission.requests").tags("group", "lookup", "outcome", "rate_limited").counter().count());
+    }
+
+    @Test
+    void should_admit_through_listing_group_when_get_employees_given_trailing_slash() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        double listingAdmitted = admitted("listing");
+        double lookupAdmitted = admitted("lookup");
+
+        //when
+        mockMvc.perform(get("/employees/"))
+                .andExpect(status().isOk());
+
+        //then
+        assertEquals(listingAdmitted + 1, admitted("listing"));
+        assertEquals(lookupAdmitted, admitted("lookup"));
+    }
+
+    private double admitted(String group) {
+        return meterRegistry.get("admission.requests").tags("group", group, "outcome", "admitted").counter().count();
+    }
+}
@@ -1,28 +1,54 @@
 package com.thoughtworks.springbootemployee.integration;
 
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
 import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.monitoring.QueryBudgetFilter;
 import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.CompanyService;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "mongo.monitoring.fail-on-exceed=true")
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 public class CompanyIntegrationTest {
     @Autowired
@@ -34,6 +60,15 @@ public class CompanyIntegrationTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CompanyMapper companyMapper;
+
+    @Autowired
+    private CompanyService companyService;
+
     @AfterEach
     void tearDownCompanyAndEmployee() {
         companyRepository.deleteAll();
@@ -51,6 +86,22 @@ public class CompanyIntegrationTest {
         //when
         //then
         mockMvc.perform(get(COMPANIES_URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].companyName").value("Facebook"))
+                .andExpect(jsonPath("$[0].employeesNumber").value(0))
+                .andExpect(jsonPath("$[0].employees").doesNotExist());
+    }
+
+    @Test
+    void should_return_all_companies_with_employees_when_get_all_given_companies_and_expand_employees() throws Exception {
+        //given
+        Company company = new Company("Facebook", new ArrayList<>());
+        companyRepository.save(company);
+
+        //when
+        //then
+        performAsync(get(COMPANIES_URI).param("expand", "employees"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(1)))
                 .andExpect(jsonPath("$[0].companyName").value("Facebook"))
@@ -58,6 +109,212 @@ public class CompanyIntegrationTest {
                 .andExpect(jsonPath("$[0].employees").value(new ArrayList()));
     }
 
+    @Test
+    void should_return_company_summaries_without_employees_when_get_all_given_no_expand() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        List<String> employeeIdList = new ArrayList<>();
+        employeeIdList.add(employee1.getId());
+        employeeIdList.add(employee2.getId());
+        Company company = companyRepository.save(new Company("Facebook", employeeIdList));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].companyId").value(company.getCompanyId()))
+                .andExpect(jsonPath("$[0].companyName").value("Facebook"))
+                .andExpect(jsonPath("$[0].employeesNumber").value(2))
+                .andExpect(jsonPath("$[0].employees").doesNotExist());
+    }
+
+    @Test
+    void should_return_company_summary_page_when_get_all_given_page_and_page_size_and_no_expand() throws Exception {
+        //given
+        companyRepository.save(new Company("Facebook", new ArrayList<>()));
+        companyRepository.save(new Company("Google", new ArrayList<>()));
+        companyRepository.save(new Company("Apple", new ArrayList<>()));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI).param("page", "2").param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].companyName").value("Apple"))
+                .andExpect(jsonPath("$.content[0].employeesNumber").value(0))
+                .andExpect(jsonPath("$.content[0].employees").doesNotExist());
+    }
+
+    @Test
+    void should_return_400_when_get_all_given_unsupported_expand() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI).param("expand", "owners"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_400_when_get_all_given_employees_expand_not_passed_as_single_value() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI).param("expand", "employees,employees"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_companies_with_their_employees_when_get_all_given_companies_sharing_employees() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        List<String> facebookEmployeesId = new ArrayList<>();
+        facebookEmployeesId.add(employee2.getId());
+        facebookEmployeesId.add(employee1.getId());
+        List<String> googleEmployeesId = new ArrayList<>();
+        googleEmployeesId.add(employee1.getId());
+        companyRepository.save(new Company("Facebook", facebookEmployeesId));
+        companyRepository.save(new Company("Google", googleEmployeesId));
+
+        //when
+        //then
+        performAsync(get(COMPANIES_URI).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$[0].employeesNumber").value(2))
+                .andExpect(jsonPath("$[0].employees[0].id").value(employee2.getId()))
+                .andExpect(jsonPath("$[0].employees[1].id").value(employee1.getId()))
+                .andExpect(jsonPath("$[1].employeesNumber").value(1))
+                .andExpect(jsonPath("$[1].employees[0].id").value(employee1.getId()));
+    }
+
+    @Test
+    void should_return_company_without_employees_when_get_all_given_expand_and_company_stored_without_members() throws Exception {
+        //given
+        mongoTemplate.insert(new Document("_id", new ObjectId()).append("companyName", "Facebook"), mongoTemplate.getCollectionName(Company.class));
+
+        //when
+        //then
+        performAsync(get(COMPANIES_URI).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].companyName").value("Facebook"))
+                .andExpect(jsonPath("$[0].employeesNumber").value(0))
+                .andExpect(jsonPath("$[0].employees", hasSize(0)));
+    }
+
+    @Test
+    void should_return_empty_employee_list_when_get_employees_given_company_stored_without_members() throws Exception {
+        //given
+        ObjectId companyId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", companyId).append("companyName", "Facebook"), mongoTemplate.getCollectionName(Company.class));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI + companyId + "/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void should_return_503_when_get_all_given_expand_and_saturated_assembly_executor() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+        ThreadPoolTaskExecutor saturatedExecutor = new ThreadPoolTaskExecutor();
+        saturatedExecutor.setCorePoolSize(1);
+        saturatedExecutor.setMaxPoolSize(1);
+        saturatedExecutor.setQueueCapacity(0);
+        saturatedExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        saturatedExecutor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        saturatedExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompanyMapper target = AopTestUtils.getTargetObject(companyMapper);
+        Object assemblyExecutor = ReflectionTestUtils.getField(target, "companyAssemblyExecutor");
+        ReflectionTestUtils.setField(target, "companyAssemblyExecutor", saturatedExecutor);
+
+        //when
+        //then
+        try {
+            mockMvc.perform(get(COMPANIES_URI).param("expand", "employees"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"));
+        } finally {
+            ReflectionTestUtils.setField(target, "companyAssemblyExecutor", assemblyExecutor);
+            release.countDown();
+            saturatedExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void should_stay_within_query_budget_when_get_all_given_expand_and_many_companies() throws Exception {
+        //given
+        for (int i = 0; i < 10; i++) {
+            Employee employee = employeeRepository.save(new Employee("Theo" + i, 18, "male", 50000));
+            companyRepository.save(new Company("Company" + i, Collections.singletonList(employee.getId())));
+        }
+
+        //when
+        MvcResult result = performAsync(get(COMPANIES_URI).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(10)))
+                .andReturn();
+
+        //then
+        int queryCount = Integer.parseInt(result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER));
+        assertTrue(queryCount <= 2);
+    }
+
+    @Test
+    void should_return_only_selected_fields_when_get_all_given_fields() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        List<String> employeeIdList = new ArrayList<>();
+        employeeIdList.add(employee.getId());
+        companyRepository.save(new Company("Facebook", employeeIdList));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI).param("fields", "companyName,employeesNumber"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].companyName").value("Facebook"))
+                .andExpect(jsonPath("$[0].employeesNumber").value(1))
+                .andExpect(jsonPath("$[0].companyId").doesNotExist())
+                .andExpect(jsonPath("$[0].employees").doesNotExist());
+    }
+
+    @Test
+    void should_count_employees_in_mongo_when_get_all_given_fields_with_employees_number() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+        CompanyService target = AopTestUtils.getTargetObject(companyService);
+        CompanyRepository repository = mock(CompanyRepository.class, AdditionalAnswers.delegatesTo(companyRepository));
+        ReflectionTestUtils.setField(target, "companyRepository", repository);
+
+        //when
+        //then
+        try {
+            mockMvc.perform(get(COMPANIES_URI).param("fields", "employeesNumber"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].employeesNumber").value(1));
+            verify(repository).findAllSummaries(any());
+            verify(repository, never()).findAllWithFields(any());
+        } finally {
+            ReflectionTestUtils.setField(target, "companyRepository", companyRepository);
+        }
+    }
+
     @Test
     void should_return_a_company_when_get_company_by_id_given_company_id() throws Exception {
         //given
@@ -69,7 +326,79 @@ public class CompanyIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.companyName").value("Facebook"))
                 .andExpect(jsonPath("$.employeesNumber").value(0))
-                .andExpect(jsonPath("$.employees").value(new ArrayList<>()));
+                .andExpect(jsonPath("$.employees").doesNotExist());
+    }
+
+    @Test
+    void should_not_load_employees_when_get_company_by_id_given_fields_with_employees_and_no_expand() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("fields", "companyName,employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryBudgetFilter.QUERY_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$.companyName").value("Facebook"))
+                .andExpect(jsonPath("$.employees").doesNotExist());
+
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("fields", "companyName,employees").param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("Facebook"))
+                .andExpect(jsonPath("$.employeesNumber").doesNotExist())
+                .andExpect(jsonPath("$.employees[0].id").value(employee.getId()));
+    }
+
+    @Test
+    void should_return_304_until_an_employee_changes_when_get_company_by_id_given_if_none_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+        String eTag = mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("expand", "employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/employees/" + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("expand", "employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.employees[0].age").value(22));
+    }
+
+    @Test
+    void should_return_company_with_employees_in_one_query_when_get_company_by_id_given_company_with_employees() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        List<String> employeesId = new ArrayList<>();
+        employeesId.add(employee2.getId());
+        employeesId.add(employee1.getId());
+        Company company = companyRepository.save(new Company("Facebook", employeesId));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId()).param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryBudgetFilter.QUERY_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$.employeesNumber").value(2))
+                .andExpect(jsonPath("$.employees[0].id").value(employee2.getId()))
+                .andExpect(jsonPath("$.employees[1].id").value(employee1.getId()));
+
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId() + "/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryBudgetFilter.QUERY_COUNT_HEADER, "1"))
+                .andExpect(jsonPath("$[0].name").value("Linne"))
+                .andExpect(jsonPath("$[1].name").value("Theo"));
     }
 
     @Test
@@ -109,6 +438,27 @@ public class CompanyIntegrationTest {
                 .andExpect(jsonPath("$[1].id").value(employee2.getId()));
     }
 
+    @Test
+    void should_return_salary_statistics_of_members_when_get_company_stats_given_company_id() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 40000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 60000));
+        employeeRepository.save(new Employee("Marcus", 18, "male", 90000));
+        List<String> employeeIdList = new ArrayList<>();
+        employeeIdList.add(employee1.getId());
+        employeeIdList.add(employee2.getId());
+        Company company = companyRepository.save(new Company("Facebook", employeeIdList));
+
+        //when
+        //then
+        mockMvc.perform(get(COMPANIES_URI + company.getCompanyId() + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.averageSalary").value(50000.0))
+                .andExpect(jsonPath("$.minSalary").value(40000))
+                .andExpect(jsonPath("$.maxSalary").value(60000));
+    }
+
     @Test
     void should_return_404_when_get_employee_list_given_wrong_company_id() throws Exception {
         //given
@@ -136,7 +486,7 @@ public class CompanyIntegrationTest {
 
         //when
         //then
-        mockMvc.perform(get(COMPANIES_URI).param("page", "1").param("pageSize", "2"))
+        performAsync(get(COMPANIES_URI).param("page", "1").param("pageSize", "2").param("expand", "employees"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.pageable.pageSize").value(2))
                 .andExpect(jsonPath("$.pageable.pageNumber").value(0))
@@ -197,6 +547,26 @@ public class CompanyIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void should_return_404_with_missing_employee_ids_when_create_given_company_with_some_wrong_employee_ids() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        String missingEmployeeId = new ObjectId().toString();
+        String companyAsJson = "{\n" +
+                "    \"companyName\": \"OOCL\",\n" +
+                "    \"employeesId\": [\"" + employee.getId() + "\", \"" + missingEmployeeId + "\"]\n" +
+                "}";
+        //when
+        //then
+        mockMvc.perform(post(COMPANIES_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyAsJson))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Employee Not Found."))
+                .andExpect(jsonPath("$.missingEmployeesId", hasSize(1)))
+                .andExpect(jsonPath("$.missingEmployeesId[0]").value(missingEmployeeId));
+    }
+
     @Test
     void should_return_updated_company_when_update_given_company_id() throws Exception {
         //given
@@ -232,6 +602,30 @@ public class CompanyIntegrationTest {
         assertEquals(employeeIdList, companies.get(0).getEmployeesId());
     }
 
+    @Test
+    void should_update_in_place_when_update_given_company_stored_without_version() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        ObjectId companyId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", companyId).append("companyName", "Facebook").append("employeesId", new ArrayList<>()),
+                mongoTemplate.getCollectionName(Company.class));
+        String companyAsJson = "{\"companyName\": \"OOCL\", \"employeesId\": [\"" + employee.getId() + "\"]}";
+
+        //when
+        //then
+        mockMvc.perform(put(COMPANIES_URI + companyId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(companyAsJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("OOCL"))
+                .andExpect(jsonPath("$.employees[0].id").value(employee.getId()));
+
+        List<Company> companies = companyRepository.findAll();
+        assertEquals(1, companies.size());
+        assertEquals(1L, companies.get(0).getVersion());
+    }
+
     @Test
     void should_return_404_when_update_given_company_with_wrong_company_id() throws Exception {
         //given
@@ -310,6 +704,131 @@ public class CompanyIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void should_update_only_company_name_when_patch_given_company_name() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+
+        //when
+        //then
+        mockMvc.perform(patch(COMPANIES_URI + company.getCompanyId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\": \"Meta\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyName").value("Meta"))
+                .andExpect(jsonPath("$.employeesNumber").value(1))
+                .andExpect(jsonPath("$.employees[0].id").value(employee.getId()));
+
+        assertEquals("Meta", companyRepository.findById(company.getCompanyId()).get().getCompanyName());
+    }
+
+    @Test
+    void should_return_404_when_patch_given_company_with_wrong_employee_id() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+        String missingEmployeeId = new ObjectId().toHexString();
+
+        //when
+        //then
+        mockMvc.perform(patch(COMPANIES_URI + company.getCompanyId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeesId\": [\"" + missingEmployeeId + "\"]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.missingEmployeesId[0]").value(missingEmployeeId));
+    }
+
+    @Test
+    void should_add_employee_once_when_add_employee_given_company_id_and_employee_id_twice() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+
+        //when
+        mockMvc.perform(post(COMPANIES_URI + company.getCompanyId() + "/employees/" + employee.getId()))
+                .andExpect(status().isOk());
+
+        //then
+        mockMvc.perform(post(COMPANIES_URI + company.getCompanyId() + "/employees/" + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.employeesNumber").value(1))
+                .andExpect(jsonPath("$.employees").doesNotExist());
+        assertEquals(1, companyRepository.findById(company.getCompanyId()).get().getEmployeesId().size());
+    }
+
+    @Test
+    void should_add_employees_when_add_employees_given_company_id_and_employee_ids() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>(Collections.singletonList(employee1.getId()))));
+
+        //when
+        //then
+        mockMvc.perform(post(COMPANIES_URI + company.getCompanyId() + "/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + employee1.getId() + "\", \"" + employee2.getId() + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.employeesNumber").value(2))
+                .andExpect(jsonPath("$.employees").doesNotExist());
+
+        assertEquals(Arrays.asList(employee1.getId(), employee2.getId()), companyRepository.findById(company.getCompanyId()).get().getEmployeesId());
+    }
+
+    @Test
+    void should_return_404_when_add_employee_given_wrong_employee_id() throws Exception {
+        //given
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+        String missingEmployeeId = new ObjectId().toHexString();
+
+        //when
+        //then
+        mockMvc.perform(post(COMPANIES_URI + company.getCompanyId() + "/employees/" + missingEmployeeId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.missingEmployeesId[0]").value(missingEmployeeId));
+    }
+
+    @Test
+    void should_remove_employee_when_remove_employee_given_company_id_and_employee_id() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        List<String> employeesId = new ArrayList<>();
+        employeesId.add(employee1.getId());
+        employeesId.add(employee2.getId());
+        Company company = companyRepository.save(new Company("Facebook", employeesId));
+
+        //when
+        //then
+        mockMvc.perform(delete(COMPANIES_URI + company.getCompanyId() + "/employees/" + employee1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.employeesNumber").value(1))
+                .andExpect(jsonPath("$.employees").doesNotExist());
+
+        assertEquals(Collections.singletonList(employee2.getId()), companyRepository.findById(company.getCompanyId()).get().getEmployeesId());
+    }
+
+    @Test
+    void should_remove_employees_when_remove_employees_given_company_id_and_employee_ids() throws Exception {
+        //given
+        Employee employee1 = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee employee2 = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        List<String> employeesId = new ArrayList<>();
+        employeesId.add(employee1.getId());
+        employeesId.add(employee2.getId());
+        Company company = companyRepository.save(new Company("Facebook", employeesId));
+
+        //when
+        //then
+        mockMvc.perform(delete(COMPANIES_URI + company.getCompanyId() + "/employees")
+                .param("employeesId", employee1.getId(), employee2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeesNumber").value(0));
+    }
+
     @Test
     void should_return_no_content_when_delete_given_company_id() throws Exception {
         //given
@@ -341,4 +860,11 @@ public class CompanyIntegrationTest {
         mockMvc.perform(delete(COMPANIES_URI + "123"))
                 .andExpect(status().isBadRequest());
     }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -1,24 +1,58 @@
 package com.thoughtworks.springbootemployee.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
+import com.thoughtworks.springbootemployee.coalescing.SingleFlight;
+import com.thoughtworks.springbootemployee.config.CoalescingConfig;
+import com.thoughtworks.springbootemployee.controller.EmployeeController;
+import com.thoughtworks.springbootemployee.dto.CompanyResponse;
+import com.thoughtworks.springbootemployee.dto.EmployeeResponse;
+import com.thoughtworks.springbootemployee.dto.TaggedResponse;
+import com.thoughtworks.springbootemployee.fieldset.Fieldset;
+import com.thoughtworks.springbootemployee.model.Company;
 import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.monitoring.QueryBudgetFilter;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
 import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import com.thoughtworks.springbootemployee.service.EmployeeService;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "mongo.monitoring.fail-on-exceed=true")
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 public class EmployeeIntegrationTest {
     @Autowired
@@ -27,8 +61,33 @@ public class EmployeeIntegrationTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier(CoalescingConfig.EMPLOYEE_READS)
+    private SingleFlight<String, TaggedResponse<EmployeeResponse>> employeeReads;
+
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_READS)
+    private SingleFlight<String, TaggedResponse<CompanyResponse>> companyReads;
+
+    @Autowired
+    @Qualifier(CoalescingConfig.COMPANY_EMPLOYEES_READS)
+    private SingleFlight<String, List<EmployeeResponse>> companyEmployeesReads;
+
     @AfterEach
     void tearDown() {
+        companyRepository.deleteAll();
         employeeRepository.deleteAll();
     }
 
@@ -51,6 +110,78 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[0].salary").value(50000));
     }
 
+    @Test
+    void should_report_a_single_query_when_get_employee_by_id_given_uncached_employee() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryBudgetFilter.QUERY_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void should_return_cbor_when_get_all_given_accept_cbor() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        MvcResult result = mockMvc.perform(get(EMPLOYEES_URI).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        //then
+        JsonNode employees = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Theo", employees.get(0).get("name").asText());
+        assertEquals(18, employees.get(0).get("age").asInt());
+    }
+
+    @Test
+    void should_return_selected_fields_as_smile_when_get_all_given_accept_smile_and_fields() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        MvcResult result = mockMvc.perform(get(EMPLOYEES_URI).param("fields", "name").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        //then
+        JsonNode employees = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("Theo", employees.get(0).get("name").asText());
+        assertEquals(null, employees.get(0).get("age"));
+    }
+
+    @Test
+    void should_return_only_selected_fields_when_get_all_given_fields() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI).param("fields", "name,age"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Theo"))
+                .andExpect(jsonPath("$[0].age").value(18))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].gender").doesNotExist())
+                .andExpect(jsonPath("$[0].salary").doesNotExist());
+    }
+
+    @Test
+    void should_return_400_when_get_all_given_unsupported_field() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI).param("fields", "password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported field: password."));
+    }
+
     @Test
     void should_return_one_employee_when_get_employee_given_employee_id() throws Exception {
         //given
@@ -85,6 +216,33 @@ public class EmployeeIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void should_return_companies_of_employee_when_get_employee_companies_given_employee_id() throws Exception {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+        companyRepository.save(new Company("Google", new ArrayList<>()));
+        companyRepository.save(new Company("Apple", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        performAsync(get(EMPLOYEES_URI + theo.getId() + "/companies").param("page", "1").param("pageSize", "1").param("expand", "employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].companyName").value("Facebook"))
+                .andExpect(jsonPath("$.content[0].employees[0].id").value(theo.getId()));
+    }
+
+    @Test
+    void should_return_404_when_get_employee_companies_given_wrong_employee_id() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + new ObjectId().toString() + "/companies"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void should_return_male_employees_when_get_employee_by_gender_given_gender_is_male() throws Exception {
         //given
@@ -103,6 +261,102 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[0].salary").value(50000));
     }
 
+    @Test
+    void should_stream_employees_as_ndjson_when_get_all_given_accept_ndjson() throws Exception {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee linne = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get(EMPLOYEES_URI).accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":\"" + theo.getId() + "\",\"name\":\"Theo\",\"age\":18,\"gender\":\"male\",\"salary\":50000}\n" +
+                        "{\"id\":\"" + linne.getId() + "\",\"name\":\"Linne\",\"age\":18,\"gender\":\"female\",\"salary\":50000}\n"));
+    }
+
+    @Test
+    void should_stream_male_employees_as_ndjson_when_get_employee_by_gender_given_accept_ndjson() throws Exception {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        MvcResult mvcResult = mockMvc.perform(get(EMPLOYEES_URI).param("gender", "male").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"id\":\"" + theo.getId() + "\",\"name\":\"Theo\",\"age\":18,\"gender\":\"male\",\"salary\":50000}\n"));
+    }
+
+    @Test
+    void should_return_salary_statistics_per_gender_when_get_stats_given_group_by_gender() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 40000));
+        employeeRepository.save(new Employee("Marcus", 18, "male", 60000));
+        employeeRepository.save(new Employee("Tom", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 30000));
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + "stats").param("groupBy", "gender"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$[0].group").value("female"))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].medianSalary").value(30000))
+                .andExpect(jsonPath("$[1].group").value("male"))
+                .andExpect(jsonPath("$[1].count").value(3))
+                .andExpect(jsonPath("$[1].averageSalary").value(50000.0))
+                .andExpect(jsonPath("$[1].minSalary").value(40000))
+                .andExpect(jsonPath("$[1].maxSalary").value(60000))
+                .andExpect(jsonPath("$[1].medianSalary").value(50000))
+                .andExpect(jsonPath("$[1].p90Salary").value(50000))
+                .andExpect(jsonPath("$[1].p99Salary").value(50000));
+    }
+
+    @Test
+    void should_return_salary_percentiles_when_get_stats_given_101_employees_stored_out_of_order() throws Exception {
+        //given
+        List<Employee> employees = new ArrayList<>();
+        for (int salary = 101000; salary >= 1000; salary -= 1000) {
+            employees.add(new Employee("Theo", 18, "male", salary));
+        }
+        Collections.shuffle(employees);
+        employeeRepository.saveAll(employees);
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + "stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].count").value(101))
+                .andExpect(jsonPath("$[0].minSalary").value(1000))
+                .andExpect(jsonPath("$[0].maxSalary").value(101000))
+                .andExpect(jsonPath("$[0].medianSalary").value(51000))
+                .andExpect(jsonPath("$[0].p90Salary").value(91000))
+                .andExpect(jsonPath("$[0].p99Salary").value(100000));
+    }
+
+    @Test
+    void should_return_400_when_get_stats_given_unsupported_group_by() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + "stats").param("groupBy", "name"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void should_return_correct_page_when_get_employee_given_employees_and_page_and_page_size() throws Exception {
         //given
@@ -126,6 +380,54 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.content[1].salary").value(50000));
     }
 
+    @Test
+    void should_return_next_slice_when_get_employee_given_after_cursor_and_limit() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Marcus", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        String firstSlice = mockMvc.perform(get(EMPLOYEES_URI).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Theo"))
+                .andExpect(jsonPath("$.content[1].name").value("Marcus"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstSlice, "$.nextCursor");
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI).param("after", nextCursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Linne"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_employees_filtered_by_gender_when_get_employee_given_gender_and_limit() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI).param("gender", "female").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Linne"));
+    }
+
+    @Test
+    void should_return_400_when_get_employee_given_invalid_after_cursor() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI).param("after", "123").param("limit", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void should_return_employee_when_create_given_employee() throws Exception {
         //given
@@ -154,6 +456,121 @@ public class EmployeeIntegrationTest {
         assertEquals(22, employees.get(0).getAge());
     }
 
+    @Test
+    void should_return_ids_when_create_in_batch_given_employee_array() throws Exception {
+        //given
+        String employeesAsJson = "[\n" +
+                "    {\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000},\n" +
+                "    {\"name\": \"Linne\", \"age\": 18, \"gender\": \"female\", \"salary\": 50000}\n" +
+                "]";
+
+        //when
+        //then
+        mockMvc.perform(post(EMPLOYEES_URI + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeesAsJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].id").isString())
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].id").isString());
+
+        List<Employee> employees = employeeRepository.findAll();
+        assertEquals(2, employees.size());
+        assertEquals("Theo", employees.get(0).getName());
+        assertEquals("Linne", employees.get(1).getName());
+    }
+
+    @Test
+    void should_return_bad_request_when_create_in_batch_given_employee_array_larger_than_max_json_bytes() throws Exception {
+        //given
+        int batchMaxJsonBytes = (int) ReflectionTestUtils.getField(employeeController, "batchMaxJsonBytes");
+        ReflectionTestUtils.setField(employeeController, "batchMaxJsonBytes", 64);
+        String employeesAsJson = "[\n" +
+                "    {\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000},\n" +
+                "    {\"name\": \"Linne\", \"age\": 18, \"gender\": \"female\", \"salary\": 50000}\n" +
+                "]";
+
+        //when
+        //then
+        mockMvc.perform(post(EMPLOYEES_URI + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeesAsJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Employee batch exceeds 64 bytes, send large imports as application/x-ndjson."));
+
+        assertEquals(0, employeeRepository.count());
+        ReflectionTestUtils.setField(employeeController, "batchMaxJsonBytes", batchMaxJsonBytes);
+    }
+
+    @Test
+    void should_keep_request_indexes_across_chunks_when_create_in_batch_given_more_employees_than_chunk_size() throws Exception {
+        //given
+        int batchChunkSize = (int) ReflectionTestUtils.getField(employeeController, "batchChunkSize");
+        ReflectionTestUtils.setField(employeeController, "batchChunkSize", 2);
+        String employeesAsNdjson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}\n" +
+                "{\"name\": \"Linne\", \"age\": 18, \"gender\": \"female\", \"salary\": 50000}\n" +
+                "{\"name\": \"Kyle\", \"age\": 30, \"gender\": \"male\", \"salary\": 60000}\n";
+
+        //when
+        //then
+        mockMvc.perform(post(EMPLOYEES_URI + "batch")
+                .contentType("application/x-ndjson")
+                .content(employeesAsNdjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(3)))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].id").isString());
+
+        assertEquals(3, employeeRepository.count());
+        ReflectionTestUtils.setField(employeeController, "batchChunkSize", batchChunkSize);
+    }
+
+    @Test
+    void should_return_ids_when_create_in_batch_given_employee_ndjson() throws Exception {
+        //given
+        String employeesAsNdjson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}\n" +
+                "{\"name\": \"Linne\", \"age\": 18, \"gender\": \"female\", \"salary\": 50000}\n";
+
+        //when
+        //then
+        mockMvc.perform(post(EMPLOYEES_URI + "batch")
+                .contentType("application/x-ndjson")
+                .content(employeesAsNdjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$[1].id").isString());
+
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_error_at_index_when_create_in_batch_given_malformed_ndjson_line() throws Exception {
+        //given
+        String employeesAsNdjson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}\n" +
+                "{\"name\": \n" +
+                "{\"name\": \"Linne\", \"age\": 18, \"gender\": \"female\", \"salary\": 50000}\n";
+
+        //when
+        //then
+        mockMvc.perform(post(EMPLOYEES_URI + "batch")
+                .contentType("application/x-ndjson")
+                .content(employeesAsNdjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(3)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].id").isString())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].id").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("Malformed employee at line 2."))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].id").isString());
+
+        assertEquals(2, employeeRepository.count());
+    }
+
     @Test
     void should_return_updated_employee_when_update_given_employee() throws Exception {
         //given
@@ -183,6 +600,205 @@ public class EmployeeIntegrationTest {
         assertEquals(22, employees.get(0).getAge());
     }
 
+    @Test
+    void should_return_304_when_get_employee_by_id_given_matching_if_none_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        String eTag = mockMvc.perform(get(EMPLOYEES_URI + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + employee.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void should_return_updated_employee_with_new_etag_when_update_given_current_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        String employeeAsJson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}";
+
+        //when
+        //then
+        mockMvc.perform(put(EMPLOYEES_URI + employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeAsJson))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.age").value(22));
+    }
+
+    @Test
+    void should_return_updated_employee_when_get_employee_given_load_in_flight_during_update() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> employeeReads.execute(employee.getId() + "|" + Fieldset.key(Collections.emptySet()), () -> {
+            loaderStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new TaggedResponse<>(new EmployeeResponse(), "\"0\"", -1);
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        String employeeAsJson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}";
+        mockMvc.perform(put(EMPLOYEES_URI + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeAsJson))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(get(EMPLOYEES_URI + employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(22));
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void should_forget_only_company_reads_with_employees_when_update_given_company_loads_in_flight() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company member = companyRepository.save(new Company("Facebook", Collections.singletonList(employee.getId())));
+        Company other = companyRepository.save(new Company("Google", new ArrayList<>()));
+        CountDownLatch loadersStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.submit(() -> companyEmployeesReads.execute(member.getCompanyId(), () -> {
+            loadersStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.<EmployeeResponse>emptyList();
+        }));
+        executor.submit(() -> companyReads.execute(other.getCompanyId() + "||", () -> {
+            loadersStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new TaggedResponse<>(new CompanyResponse(), "\"0\"", -1);
+        }));
+        assertTrue(loadersStarted.await(5, TimeUnit.SECONDS));
+        String employeeAsJson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}";
+        mockMvc.perform(put(EMPLOYEES_URI + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeAsJson))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(get("/companies/" + member.getCompanyId() + "/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].age").value(22));
+        assertTrue(companyEmployeesReads.isIdle());
+        assertFalse(companyReads.isIdle());
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void should_return_cached_employee_unchanged_when_get_employee_given_previous_caller_modified_its_copy() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeService.getEmployee(employee.getId()).setAge(99);
+
+        //when
+        Employee cachedEmployee = employeeService.getEmployee(employee.getId());
+
+        //then
+        assertEquals(18, cachedEmployee.getAge());
+    }
+
+    @Test
+    void should_update_in_place_when_update_given_employee_stored_without_version() throws Exception {
+        //given
+        ObjectId employeeId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", employeeId).append("name", "Theo").append("age", 18).append("gender", "male").append("salary", 50000),
+                mongoTemplate.getCollectionName(Employee.class));
+        String employeeAsJson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}";
+        mockMvc.perform(get(EMPLOYEES_URI + employeeId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        //when
+        //then
+        mockMvc.perform(put(EMPLOYEES_URI + employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeAsJson))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.age").value(22));
+
+        assertEquals(1, employeeRepository.count());
+        assertEquals(1L, employeeRepository.findById(employeeId.toHexString()).get().getVersion());
+    }
+
+    @Test
+    void should_return_412_when_update_given_stale_if_match() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employee.setAge(20);
+        employeeRepository.save(employee);
+        String employeeAsJson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}";
+
+        //when
+        //then
+        mockMvc.perform(put(EMPLOYEES_URI + employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeAsJson))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(20, employeeRepository.findById(employee.getId()).get().getAge());
+    }
+
+    @Test
+    void should_update_only_supplied_fields_when_patch_given_employee_id_and_salary() throws Exception {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        mockMvc.perform(patch(EMPLOYEES_URI + employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\": 60000}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("Theo"))
+                .andExpect(jsonPath("$.age").value(18))
+                .andExpect(jsonPath("$.salary").value(60000));
+
+        Employee patched = employeeRepository.findById(employee.getId()).get();
+        assertEquals("Theo", patched.getName());
+        assertEquals(60000, patched.getSalary());
+    }
+
+    @Test
+    void should_return_404_when_patch_given_wrong_employee_id() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(patch(EMPLOYEES_URI + new ObjectId().toHexString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\": 60000}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_return_400_when_patch_given_invalid_employee_id() throws Exception {
+        //given
+        //when
+        //then
+        mockMvc.perform(patch(EMPLOYEES_URI + "123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\": 60000}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void should_return_404_when_update_employee_given_wrong_employee_id() throws Exception {
         //given
@@ -247,4 +863,11 @@ public class EmployeeIntegrationTest {
         mockMvc.perform(delete(EMPLOYEES_URI + "123"))
                 .andExpect(status().isBadRequest());
     }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
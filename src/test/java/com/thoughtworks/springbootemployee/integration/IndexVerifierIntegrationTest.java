@@ -0,0 +1,89 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.config.IndexVerifier;
+import com.thoughtworks.springbootemployee.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ExtendWith(OutputCaptureExtension.class)
+public class IndexVerifierIntegrationTest {
+    @Autowired
+    private IndexVerifier indexVerifier;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(indexVerifier, "failOnMissing", false);
+        IndexOperations indexOperations = mongoTemplate.indexOps(Employee.class);
+        new MongoPersistentEntityIndexResolver(mongoMappingContext).resolveIndexFor(Employee.class).forEach(indexOperations::ensureIndex);
+    }
+
+    @Test
+    void should_not_warn_when_verify_indexes_given_all_indexes_exist(CapturedOutput output) {
+        //given
+        //when
+        indexVerifier.verifyIndexes();
+
+        //then
+        assertFalse(output.getOut().contains("Missing Mongo indexes"));
+    }
+
+    @Test
+    void should_warn_when_verify_indexes_given_missing_index(CapturedOutput output) {
+        //given
+        mongoTemplate.indexOps(Employee.class).dropIndex("gender_salary");
+
+        //when
+        assertDoesNotThrow(() -> indexVerifier.verifyIndexes());
+
+        //then
+        assertTrue(output.getOut().contains("Missing Mongo indexes: [employee[gender, salary]]"));
+    }
+
+    @Test
+    void should_warn_when_verify_indexes_given_missing_name_index(CapturedOutput output) {
+        //given
+        mongoTemplate.indexOps(Employee.class).dropIndex("name");
+
+        //when
+        assertDoesNotThrow(() -> indexVerifier.verifyIndexes());
+
+        //then
+        assertTrue(output.getOut().contains("Missing Mongo indexes: [employee[name]]"));
+    }
+
+    @Test
+    void should_throw_illegal_state_exception_when_verify_indexes_given_missing_index_and_fail_on_missing() {
+        //given
+        ReflectionTestUtils.setField(indexVerifier, "failOnMissing", true);
+        mongoTemplate.indexOps(Employee.class).dropIndex("gender_salary");
+
+        //when
+        final IllegalStateException illegalStateException = assertThrows(IllegalStateException.class, () -> indexVerifier.verifyIndexes());
+
+        //then
+        assertEquals("Missing Mongo indexes: [employee[gender, salary]]", illegalStateException.getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mongo.monitoring.fail-on-exceed=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class MetricsIntegrationTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_record_service_and_repository_timers_when_get_employees_given_employees() throws Exception {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk());
+
+        //then
+        assertNotNull(meterRegistry.find("service.calls")
+                .tags("class", "EmployeeService", "method", "getEmployees").timer());
+        assertNotNull(meterRegistry.find("repository.calls")
+                .tags("class", "EmployeeRepository", "method", "findAll").timer());
+    }
+
+    @Test
+    void should_expose_request_histograms_when_scrape_prometheus_given_served_requests() throws Exception {
+        //given
+        mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk());
+
+        //when
+        //then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("service_calls_seconds")));
+    }
+}
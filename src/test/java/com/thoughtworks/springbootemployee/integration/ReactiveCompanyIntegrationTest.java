@@ -0,0 +1,325 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.config.AsyncConfig;
+import com.thoughtworks.springbootemployee.dto.CompanyRequest;
+import com.thoughtworks.springbootemployee.mapper.CompanyMapper;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveCompanyIntegrationTest {
+    public static final String COMPANIES_URI = "/companies/";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @AfterEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_return_companies_with_their_employees_when_get_all_given_expand() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee linne = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        companyRepository.save(new Company("Facebook", Arrays.asList(linne.getId(), theo.getId())));
+        companyRepository.save(new Company("Google", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI).queryParam("expand", "employees").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].employeesNumber").isEqualTo(2)
+                .jsonPath("$[0].employees[0].id").isEqualTo(linne.getId())
+                .jsonPath("$[0].employees[1].id").isEqualTo(theo.getId())
+                .jsonPath("$[1].employees[0].id").isEqualTo(theo.getId());
+    }
+
+    @Test
+    void should_return_company_summaries_without_employees_when_get_all_given_no_expand() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(COMPANIES_URI)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].companyName").isEqualTo("Facebook")
+                .jsonPath("$[0].employeesNumber").isEqualTo(1)
+                .jsonPath("$[0].employees").doesNotExist();
+    }
+
+    @Test
+    void should_return_400_when_get_company_by_id_given_invalid_company_id() {
+        //given
+        //when
+        //then
+        webTestClient.get().uri(COMPANIES_URI + "123")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_return_an_employee_list_when_get_employee_list_given_company_id() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(COMPANIES_URI + company.getCompanyId() + "/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Theo");
+    }
+
+    @Test
+    void should_return_correct_page_when_get_all_given_page_and_page_size() {
+        //given
+        companyRepository.save(new Company("Facebook", new ArrayList<>()));
+        companyRepository.save(new Company("Google", new ArrayList<>()));
+        companyRepository.save(new Company("Apple", new ArrayList<>()));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI).queryParam("page", 2).queryParam("pageSize", 2).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].companyName").isEqualTo("Apple");
+    }
+
+    @Test
+    void should_return_404_with_missing_employee_ids_when_create_given_company_with_some_wrong_employee_ids() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        String missingEmployeeId = new ObjectId().toString();
+
+        //when
+        //then
+        webTestClient.post().uri(COMPANIES_URI)
+                .bodyValue(new CompanyRequest("OOCL", Arrays.asList(employee.getId(), missingEmployeeId)))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee Not Found.")
+                .jsonPath("$.missingEmployeesId[0]").isEqualTo(missingEmployeeId);
+    }
+
+    @Test
+    void should_return_404_when_delete_given_wrong_company_id() {
+        //given
+        //when
+        //then
+        webTestClient.delete().uri(COMPANIES_URI + new ObjectId().toString())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_add_employee_to_company_when_add_employee_given_existing_employee() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+
+        //when
+        //then
+        webTestClient.post().uri(COMPANIES_URI + company.getCompanyId() + "/employees/" + theo.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.employeesNumber").isEqualTo(1);
+
+        assertEquals(Collections.singletonList(theo.getId()), companyRepository.findById(company.getCompanyId()).get().getEmployeesId());
+    }
+
+    @Test
+    void should_return_404_when_add_employee_given_missing_employee() {
+        //given
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+
+        //when
+        //then
+        webTestClient.post().uri(COMPANIES_URI + company.getCompanyId() + "/employees/" + new ObjectId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertTrue(companyRepository.findById(company.getCompanyId()).get().getEmployeesId().isEmpty());
+    }
+
+    @Test
+    void should_remove_employees_from_company_when_remove_employees_given_employee_ids() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee linne = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Arrays.asList(theo.getId(), linne.getId())));
+
+        //when
+        //then
+        webTestClient.delete().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI + company.getCompanyId() + "/employees").queryParam("employeesId", theo.getId()).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employeesNumber").isEqualTo(1);
+
+        assertEquals(Collections.singletonList(linne.getId()), companyRepository.findById(company.getCompanyId()).get().getEmployeesId());
+    }
+
+    @Test
+    void should_rename_company_only_when_patch_given_company_name() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.patch().uri(COMPANIES_URI + company.getCompanyId())
+                .bodyValue(new CompanyRequest("Meta", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.companyName").isEqualTo("Meta")
+                .jsonPath("$.employees[0].id").isEqualTo(theo.getId());
+    }
+
+    @Test
+    void should_return_only_selected_fields_when_get_company_given_fields() {
+        //given
+        Company company = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI + company.getCompanyId()).queryParam("fields", "companyName").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.companyName").isEqualTo("Facebook")
+                .jsonPath("$.companyId").doesNotExist()
+                .jsonPath("$.employeesNumber").doesNotExist();
+    }
+
+    @Test
+    void should_not_load_employees_when_get_company_by_id_given_no_expand() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(COMPANIES_URI + company.getCompanyId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employeesNumber").isEqualTo(1)
+                .jsonPath("$.employees").doesNotExist();
+    }
+
+    @Test
+    void should_return_304_when_get_company_given_expand_and_matching_if_none_match() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Company company = companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+        String eTag = webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI + company.getCompanyId()).queryParam("expand", "employees").build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI + company.getCompanyId()).queryParam("expand", "employees").build())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void should_return_salary_statistics_of_members_when_get_company_stats_given_company_id() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 40000));
+        Employee linne = employeeRepository.save(new Employee("Linne", 18, "female", 60000));
+        employeeRepository.save(new Employee("Kyle", 30, "male", 90000));
+        Company company = companyRepository.save(new Company("Facebook", Arrays.asList(theo.getId(), linne.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(COMPANIES_URI + company.getCompanyId() + "/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(2)
+                .jsonPath("$.averageSalary").isEqualTo(50000.0)
+                .jsonPath("$.maxSalary").isEqualTo(60000);
+    }
+
+    @Test
+    void should_return_next_cursor_when_get_all_given_limit_smaller_than_companies() {
+        //given
+        Company facebook = companyRepository.save(new Company("Facebook", new ArrayList<>()));
+        companyRepository.save(new Company("Google", new ArrayList<>()));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(COMPANIES_URI).queryParam("limit", 1).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].companyId").isEqualTo(facebook.getCompanyId())
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isNotEmpty();
+    }
+
+    @Test
+    void should_not_create_blocking_company_assembly_when_start_given_reactive_profile() {
+        //given
+        //when
+        //then
+        assertTrue(applicationContext.getBeansOfType(CompanyMapper.class).isEmpty());
+        assertFalse(applicationContext.containsBean(AsyncConfig.COMPANY_ASSEMBLY_EXECUTOR));
+    }
+}
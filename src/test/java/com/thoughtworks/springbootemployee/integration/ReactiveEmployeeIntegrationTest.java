@@ -0,0 +1,393 @@
+package com.thoughtworks.springbootemployee.integration;
+
+import com.thoughtworks.springbootemployee.controller.EmployeeController;
+import com.thoughtworks.springbootemployee.dto.EmployeeRequest;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.CompanyRepository;
+import com.thoughtworks.springbootemployee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveEmployeeIntegrationTest {
+    public static final String EMPLOYEES_URI = "/employees/";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        companyRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void should_return_all_employees_when_get_all_given_employees() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        webTestClient.get().uri(EMPLOYEES_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(employee.getId())
+                .jsonPath("$[0].name").isEqualTo("Theo");
+    }
+
+    @Test
+    void should_stream_employees_one_per_line_when_get_all_given_accept_ndjson() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        Employee linne = employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        Flux<String> lines = webTestClient.get().uri(EMPLOYEES_URI)
+                .accept(MediaType.parseMediaType(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(EmployeeController.APPLICATION_NDJSON_VALUE)
+                .returnResult(String.class)
+                .getResponseBody();
+
+        //then
+        StepVerifier.create(lines)
+                .expectNext("{\"id\":\"" + theo.getId() + "\",\"name\":\"Theo\",\"age\":18,\"gender\":\"male\",\"salary\":50000}")
+                .expectNext("{\"id\":\"" + linne.getId() + "\",\"name\":\"Linne\",\"age\":18,\"gender\":\"female\",\"salary\":50000}")
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_selected_fields_only_when_get_all_given_fields() {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI).queryParam("fields", "name").build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Theo")
+                .jsonPath("$[0].id").doesNotExist()
+                .jsonPath("$[1].name").isEqualTo("Linne")
+                .jsonPath("$[1].salary").doesNotExist();
+    }
+
+    @Test
+    void should_stream_selected_fields_only_when_get_all_given_accept_ndjson_and_fields() {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        Flux<String> lines = webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI).queryParam("fields", "name").build())
+                .accept(MediaType.parseMediaType(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        //then
+        StepVerifier.create(lines)
+                .expectNext("{\"name\":\"Theo\"}")
+                .expectNext("{\"name\":\"Linne\"}")
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_404_when_get_employee_given_wrong_employee_id() {
+        //given
+        //when
+        //then
+        webTestClient.get().uri(EMPLOYEES_URI + new ObjectId().toString())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee Not Found.");
+    }
+
+    @Test
+    void should_return_companies_with_employees_when_get_employee_companies_given_expand() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        companyRepository.save(new Company("Facebook", Collections.singletonList(theo.getId())));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI + theo.getId() + "/companies").queryParam("expand", "employees").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].companyName").isEqualTo("Facebook")
+                .jsonPath("$.content[0].employees[0].id").isEqualTo(theo.getId());
+    }
+
+    @Test
+    void should_return_created_employee_when_create_given_employee() {
+        //given
+        //when
+        //then
+        webTestClient.post().uri(EMPLOYEES_URI)
+                .bodyValue(new EmployeeRequest("Theo", 18, "male", 50000))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.name").isEqualTo("Theo");
+
+        assertEquals(1, employeeRepository.count());
+    }
+
+    @Test
+    void should_update_in_place_when_update_given_employee_stored_without_version() {
+        //given
+        ObjectId employeeId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", employeeId).append("name", "Theo").append("age", 18).append("gender", "male").append("salary", 50000),
+                mongoTemplate.getCollectionName(Employee.class));
+
+        //when
+        //then
+        webTestClient.put().uri(EMPLOYEES_URI + employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new EmployeeRequest("Theo", 22, "male", 50000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.age").isEqualTo(22);
+
+        assertEquals(1, employeeRepository.count());
+        assertEquals(1L, employeeRepository.findById(employeeId.toHexString()).get().getVersion());
+    }
+
+    @Test
+    void should_return_412_when_update_given_stale_if_match() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        webTestClient.put().uri(EMPLOYEES_URI + employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (employee.getVersion() + 1) + "\"")
+                .bodyValue(new EmployeeRequest("Theo", 19, "male", 60000))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void should_return_no_content_when_delete_given_employee_id() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        webTestClient.delete().uri(EMPLOYEES_URI + employee.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void should_not_time_reactive_service_calls_when_get_all_given_employees() {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        webTestClient.get().uri(EMPLOYEES_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        //then
+        assertNull(meterRegistry.find("service.calls").tags("class", "ReactiveEmployeeService").timer());
+    }
+
+    @Test
+    void should_return_salary_statistics_per_gender_when_get_stats_given_group_by_gender() {
+        //given
+        employeeRepository.save(new Employee("Theo", 18, "male", 40000));
+        employeeRepository.save(new Employee("Marcus", 18, "male", 60000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 30000));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI + "stats").queryParam("groupBy", "gender").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].group").isEqualTo("female")
+                .jsonPath("$[0].count").isEqualTo(1)
+                .jsonPath("$[1].group").isEqualTo("male")
+                .jsonPath("$[1].averageSalary").isEqualTo(50000.0)
+                .jsonPath("$[1].maxSalary").isEqualTo(60000);
+    }
+
+    @Test
+    void should_return_400_when_get_stats_given_unsupported_group_by() {
+        //given
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI + "stats").queryParam("groupBy", "name").build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_update_only_given_fields_when_patch_given_partial_employee() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        webTestClient.patch().uri(EMPLOYEES_URI + employee.getId())
+                .bodyValue(new EmployeeRequest(null, 19, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Theo")
+                .jsonPath("$.age").isEqualTo(19);
+
+        assertEquals(19, employeeRepository.findById(employee.getId()).get().getAge());
+    }
+
+    @Test
+    void should_return_only_selected_fields_when_get_employee_given_fields() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI + employee.getId()).queryParam("fields", "name").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Theo")
+                .jsonPath("$.id").doesNotExist()
+                .jsonPath("$.salary").doesNotExist();
+    }
+
+    @Test
+    void should_return_304_when_get_employee_given_matching_if_none_match() {
+        //given
+        Employee employee = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        String eTag = webTestClient.get().uri(EMPLOYEES_URI + employee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        //when
+        //then
+        webTestClient.get().uri(EMPLOYEES_URI + employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void should_return_next_cursor_when_get_all_given_limit_smaller_than_employees() {
+        //given
+        Employee theo = employeeRepository.save(new Employee("Theo", 18, "male", 50000));
+        employeeRepository.save(new Employee("Linne", 18, "female", 50000));
+
+        //when
+        //then
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(EMPLOYEES_URI).queryParam("limit", 1).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(theo.getId())
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isNotEmpty();
+    }
+
+    @Test
+    void should_report_malformed_line_when_create_in_batch_given_ndjson_with_invalid_employee() {
+        //given
+        String employeesAsNdjson = "{\"name\": \"Theo\", \"age\": 22, \"gender\": \"male\", \"salary\": 50000}\n" +
+                "{\"name\": \"Linne\"\n" +
+                "{\"name\": \"Kyle\", \"age\": 30, \"gender\": \"male\", \"salary\": 60000}\n";
+
+        //when
+        //then
+        webTestClient.post().uri(EMPLOYEES_URI + "batch")
+                .contentType(MediaType.parseMediaType(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .bodyValue(employeesAsNdjson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isNotEmpty()
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].error").isEqualTo("Malformed employee at line 2.")
+                .jsonPath("$[2].index").isEqualTo(2)
+                .jsonPath("$[2].id").isNotEmpty();
+
+        assertEquals(2, employeeRepository.count());
+    }
+
+    @Test
+    void should_return_ids_when_create_in_batch_given_employee_json_array() {
+        //given
+        //when
+        //then
+        webTestClient.post().uri(EMPLOYEES_URI + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Arrays.asList(new EmployeeRequest("Theo", 22, "male", 50000), new EmployeeRequest("Linne", 18, "female", 50000)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].id").isNotEmpty();
+
+        assertEquals(2, employeeRepository.count());
+    }
+}
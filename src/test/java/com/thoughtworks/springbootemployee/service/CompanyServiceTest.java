@@ -12,9 +12,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -116,6 +119,31 @@ public class CompanyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void should_return_companies_of_employee_when_get_companies_by_employee_given_an_employee_id() throws EmployeeNotFoundException {
+        //given
+        final Page<Company> expected = new PageImpl<>(Collections.singletonList(new Company()));
+        when(companyRepository.findAllByEmployeesId("1", PageRequest.of(0, 20, Sort.by("_id")))).thenReturn(expected);
+
+        //when
+        final Page<Company> actual = companyService.getCompaniesByEmployee("1", 1, 20);
+
+        //then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_get_companies_by_employee_given_a_wrong_employee_id() throws EmployeeNotFoundException {
+        //given
+        when(employeeService.getEmployee("1")).thenThrow(new EmployeeNotFoundException());
+
+        //when
+        final EmployeeNotFoundException EmployeeNotFoundException = assertThrows(EmployeeNotFoundException.class, () -> companyService.getCompaniesByEmployee("1", 1, 20));
+
+        //then
+        assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
+    }
+
     @Test
     void should_return_a_company_when_create_given_a_company() throws EmployeeNotFoundException {
         //given
@@ -135,20 +163,22 @@ public class CompanyServiceTest {
         List<String> employeesId = new ArrayList<>();
         employeesId.add("123");
         final Company expected = new Company("OOCL", employeesId);
+        when(employeeService.getMissingEmployeesId(employeesId)).thenReturn(employeesId);
 
         //when
         final EmployeeNotFoundException EmployeeNotFoundException = assertThrows(EmployeeNotFoundException.class, () -> companyService.createCompany(expected));
 
         //then
         assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
+        assertEquals(employeesId, EmployeeNotFoundException.getMissingEmployeesId());
     }
 
     @Test
     void should_return_updated_company_when_update_given_a_company_id_and_company_updates() throws CompanyNotFoundException, EmployeeNotFoundException {
         //given
         final Company expected = new Company("OOCL", new ArrayList<>());
-        when(companyRepository.existsById(any())).thenReturn(true);
-        when(companyRepository.save(any())).thenReturn(expected);
+        when(companyRepository.findVersionById(any())).thenReturn(Optional.of(new Company()));
+        when(companyRepository.replace(companyId, expected, 0L)).thenReturn(Optional.of(expected));
 
         //when
         Company actual = companyService.updateCompany(companyId, expected);
@@ -157,19 +187,36 @@ public class CompanyServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void should_return_company_not_found_exception_when_update_given_company_deleted_before_replace() {
+        //given
+        final Company company = new Company("OOCL", new ArrayList<>());
+        when(companyRepository.findVersionById(any())).thenReturn(Optional.of(new Company()));
+        when(companyRepository.replace(companyId, company, 0L)).thenReturn(Optional.empty());
+        when(companyRepository.existsById(companyId)).thenReturn(false);
+
+        //when
+        final CompanyNotFoundException exception = assertThrows(CompanyNotFoundException.class, () -> companyService.updateCompany(companyId, company));
+
+        //then
+        assertEquals("Company Not Found.", exception.getMessage());
+    }
+
     @Test
     void should_return_employee_not_found_exception_when_update_given_a_company_id_and_company_updates_with_wrong_employee_id() {
         //given
         List<String> employeesId = new ArrayList<>();
         employeesId.add("123");
         final Company expected = new Company("OOCL", employeesId);
-        when(companyRepository.existsById(any())).thenReturn(true);
+        when(companyRepository.findVersionById(any())).thenReturn(Optional.of(new Company()));
+        when(employeeService.getMissingEmployeesId(employeesId)).thenReturn(employeesId);
 
         //when
         final EmployeeNotFoundException EmployeeNotFoundException = assertThrows(EmployeeNotFoundException.class, () -> companyService.updateCompany(expected.getCompanyId(), expected));
 
         //then
         assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
+        assertEquals(employeesId, EmployeeNotFoundException.getMissingEmployeesId());
     }
 
     @Test
@@ -186,6 +233,48 @@ public class CompanyServiceTest {
         assertEquals("Company Not Found.", CompanyNotFoundException.getMessage());
     }
 
+    @Test
+    void should_validate_only_added_employee_when_add_employees_given_a_company_id_and_an_employee_id() throws CompanyNotFoundException, EmployeeNotFoundException {
+        //given
+        final Company expected = new Company(companyName, new ArrayList<>());
+        List<String> employeesId = Collections.singletonList("2");
+        when(employeeService.getMissingEmployeesId(employeesId)).thenReturn(new ArrayList<>());
+        when(companyRepository.addEmployees(companyId, employeesId)).thenReturn(Optional.of(expected));
+
+        //when
+        Company actual = companyService.addEmployees(companyId, employeesId);
+
+        //then
+        assertEquals(expected, actual);
+        verify(employeeService, times(1)).getMissingEmployeesId(employeesId);
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_add_employees_given_a_wrong_employee_id() {
+        //given
+        List<String> employeesId = Collections.singletonList("2");
+        when(employeeService.getMissingEmployeesId(employeesId)).thenReturn(employeesId);
+
+        //when
+        final EmployeeNotFoundException EmployeeNotFoundException = assertThrows(EmployeeNotFoundException.class, () -> companyService.addEmployees(companyId, employeesId));
+
+        //then
+        assertEquals(employeesId, EmployeeNotFoundException.getMissingEmployeesId());
+        verify(companyRepository, never()).addEmployees(any(), any());
+    }
+
+    @Test
+    void should_return_company_not_found_exception_when_remove_employees_given_a_wrong_company_id() {
+        //given
+        when(companyRepository.removeEmployees(any(), any())).thenReturn(Optional.empty());
+
+        //when
+        final CompanyNotFoundException CompanyNotFoundException = assertThrows(CompanyNotFoundException.class, () -> companyService.removeEmployees(companyId, Collections.singletonList("2")));
+
+        //then
+        assertEquals("Company Not Found.", CompanyNotFoundException.getMessage());
+    }
+
     @Test
     void should_return_null_when_delete_given_a_company_id() throws CompanyNotFoundException {
         //given
@@ -7,13 +7,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -28,6 +36,9 @@ public class EmployeeServiceTest {
     @Mock
     EmployeeRepository employeeRepository;
 
+    @Spy
+    CacheManager cacheManager = new ConcurrentMapCacheManager("employees");
+
     private final String employeeId = "1";
 
     @Test
@@ -102,6 +113,33 @@ public class EmployeeServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void should_return_slice_with_next_when_get_employee_after_given_more_employees_than_limit() {
+        //given
+        final List<Employee> lookAhead = new ArrayList<>();
+        lookAhead.add(new Employee());
+        lookAhead.add(new Employee());
+        lookAhead.add(new Employee());
+        when(employeeRepository.findAllAfter(null, 3)).thenReturn(lookAhead);
+
+        //when
+        final Slice<Employee> actual = employeeService.getEmployeesAfter(null, 2);
+
+        //then
+        assertEquals(2, actual.getNumberOfElements());
+        assertEquals(true, actual.hasNext());
+    }
+
+    @Test
+    void should_return_illegal_argument_exception_when_get_employee_after_given_invalid_cursor() {
+        //given
+        //when
+        final IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesAfter("not-a-cursor", 2));
+
+        //then
+        assertEquals("Invalid cursor.", illegalArgumentException.getMessage());
+    }
+
     @Test
     void should_return_created_employee_when_create_employee_given_an_employee() {
         //given
@@ -115,12 +153,29 @@ public class EmployeeServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void should_insert_given_list_once_and_return_its_errors_when_create_employees_given_employees() {
+        //given
+        final List<Employee> employees = Arrays.asList(new Employee(), new Employee(), new Employee());
+        when(employeeRepository.insertAllUnordered(employees)).thenReturn(Collections.singletonMap(2, "duplicate key"));
+
+        //when
+        final Map<Integer, String> errors = employeeService.createEmployees(employees);
+
+        //then
+        assertEquals(Collections.singletonMap(2, "duplicate key"), errors);
+        verify(employeeRepository, times(1)).insertAllUnordered(any());
+        employees.forEach(employee -> assertEquals(24, employee.getId().length()));
+    }
+
     @Test
     void should_return_updated_employee_when_update_employee_given_an_employee_id_and_employee() throws EmployeeNotFoundException {
         //given
         Employee expected = new Employee();
-        when(employeeRepository.existsById(any())).thenReturn(true);
-        when(employeeRepository.save(any())).thenReturn(expected);
+        Employee current = new Employee();
+        current.setVersion(3L);
+        when(employeeRepository.findVersionById(any())).thenReturn(Optional.of(current));
+        when(employeeRepository.replace(employeeId, expected, 3L)).thenReturn(Optional.of(expected));
 
         //when
         Employee actual = employeeService.updateEmployee(employeeId, expected);
@@ -129,6 +184,50 @@ public class EmployeeServiceTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void should_replace_as_version_zero_when_update_employee_given_an_employee_without_version() throws EmployeeNotFoundException {
+        //given
+        Employee expected = new Employee();
+        when(employeeRepository.findVersionById(any())).thenReturn(Optional.of(new Employee()));
+        when(employeeRepository.replace(employeeId, expected, 0L)).thenReturn(Optional.of(expected));
+
+        //when
+        Employee actual = employeeService.updateEmployee(employeeId, expected, 0L);
+
+        //then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void should_return_optimistic_locking_failure_exception_when_update_employee_given_a_stale_version() {
+        //given
+        Employee current = new Employee();
+        current.setVersion(2L);
+        when(employeeRepository.findVersionById(any())).thenReturn(Optional.of(current));
+
+        //when
+        final OptimisticLockingFailureException exception = assertThrows(OptimisticLockingFailureException.class, () -> employeeService.updateEmployee(employeeId, new Employee(), 1L));
+
+        //then
+        assertEquals("Employee has been modified.", exception.getMessage());
+        verify(employeeRepository, never()).replace(any(), any(), anyLong());
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_update_employee_given_employee_deleted_before_replace() {
+        //given
+        Employee employee = new Employee();
+        when(employeeRepository.findVersionById(any())).thenReturn(Optional.of(new Employee()));
+        when(employeeRepository.replace(employeeId, employee, 0L)).thenReturn(Optional.empty());
+        when(employeeRepository.existsById(employeeId)).thenReturn(false);
+
+        //when
+        final EmployeeNotFoundException exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.updateEmployee(employeeId, employee, 0L));
+
+        //then
+        assertEquals("Employee Not Found.", exception.getMessage());
+    }
+
     @Test
     void should_return_employee_not_found_exception_when_update_employee_given_an_employee_id_and_employee() {
         //given
@@ -141,6 +240,18 @@ public class EmployeeServiceTest {
         assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
     }
 
+    @Test
+    void should_return_employee_not_found_exception_when_patch_employee_given_a_wrong_employee_id() {
+        //given
+        when(employeeRepository.patch(any(), any())).thenReturn(Optional.empty());
+
+        //when
+        final EmployeeNotFoundException EmployeeNotFoundException = assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(employeeId, new Employee()));
+
+        //then
+        assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
+    }
+
     @Test
     void should_call_repository_delete_by_id_when_delete_employee_given_an_employee_id() throws EmployeeNotFoundException {
         //given
@@ -162,4 +273,72 @@ public class EmployeeServiceTest {
         //then
         assertEquals("Employee Not Found.", EmployeeNotFoundException.getMessage());
     }
+
+    @Test
+    void should_fetch_only_missed_employees_when_get_employees_by_id_given_cached_employees() {
+        //given
+        Employee theo = new Employee("Theo", 18, "male", 50000);
+        theo.setId("1");
+        Employee linne = new Employee("Linne", 18, "female", 50000);
+        linne.setId("2");
+        when(employeeRepository.findAllById(Collections.singletonList("1"))).thenReturn(Collections.singletonList(theo));
+        when(employeeRepository.findAllById(Collections.singletonList("2"))).thenReturn(Collections.singletonList(linne));
+        employeeService.getEmployeesById(Collections.singletonList("1"));
+
+        //when
+        final List<Employee> actual = employeeService.getEmployeesById(Arrays.asList("2", "1"));
+
+        //then
+        assertEquals(Arrays.asList(linne, theo), actual);
+        verify(employeeRepository, times(1)).findAllById(Collections.singletonList("1"));
+    }
+
+    @Test
+    void should_keep_cached_employee_when_get_employees_by_id_given_employee_cached_while_loading() {
+        //given
+        Employee stale = new Employee("Theo", 18, "male", 50000);
+        stale.setId("1");
+        stale.setVersion(0L);
+        Employee updated = new Employee("Theo", 19, "male", 60000);
+        updated.setId("1");
+        updated.setVersion(1L);
+        when(employeeRepository.findAllById(Collections.singletonList("1"))).thenAnswer(invocation -> {
+            cacheManager.getCache("employees").put("1", updated);
+            return Collections.singletonList(stale);
+        });
+
+        //when
+        employeeService.getEmployeesById(Collections.singletonList("1"));
+
+        //then
+        assertEquals(updated, cacheManager.getCache("employees").get("1", Employee.class));
+    }
+
+    @Test
+    void should_fetch_missed_employees_within_max_time_when_get_employees_by_id_given_max_time() {
+        //given
+        Employee theo = new Employee("Theo", 18, "male", 50000);
+        theo.setId("1");
+        when(employeeRepository.findAllById(Collections.singletonList("1"), 250L)).thenReturn(Collections.singletonList(theo));
+
+        //when
+        final List<Employee> actual = employeeService.getEmployeesById(Collections.singletonList("1"), 250L);
+
+        //then
+        assertEquals(Collections.singletonList(theo), actual);
+        verify(employeeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void should_return_missing_employee_ids_when_get_missing_employees_id_given_some_employees_not_exist() {
+        //given
+        final List<String> employeesId = Arrays.asList("1", "2", "3");
+        when(employeeRepository.findExistingIds(employeesId)).thenReturn(Collections.singletonList("2"));
+
+        //when
+        final List<String> actual = employeeService.getMissingEmployeesId(employeesId);
+
+        //then
+        assertEquals(Arrays.asList("1", "3"), actual);
+    }
 }
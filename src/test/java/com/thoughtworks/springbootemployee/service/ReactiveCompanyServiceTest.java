@@ -0,0 +1,121 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.CompanyNotFoundException;
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.model.Company;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.ReactiveCompanyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveCompanyServiceTest {
+    @InjectMocks
+    ReactiveCompanyService companyService;
+
+    @Mock
+    ReactiveCompanyRepository companyRepository;
+
+    @Mock
+    ReactiveEmployeeService employeeService;
+
+    private final String companyId = "1";
+    private final String companyName = "Google";
+
+    @Test
+    void should_return_employee_list_when_get_a_company_employee_list_given_a_company() {
+        //given
+        Employee employee = new Employee("Theo", 18, "male", 50000);
+        List<String> employeesId = Collections.singletonList("2");
+        when(companyRepository.findById(companyId)).thenReturn(Mono.just(new Company(companyName, employeesId)));
+        when(employeeService.getEmployeesById(employeesId)).thenReturn(Flux.just(employee));
+
+        //when
+        //then
+        StepVerifier.create(companyService.getEmployeeList(companyId))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_company_not_found_exception_when_get_a_company_employee_list_given_a_wrong_company() {
+        //given
+        when(companyRepository.findById(companyId)).thenReturn(Mono.empty());
+
+        //when
+        //then
+        StepVerifier.create(companyService.getEmployeeList(companyId))
+                .expectErrorMatches(error -> error instanceof CompanyNotFoundException && "Company Not Found.".equals(error.getMessage()))
+                .verify();
+    }
+
+    @Test
+    void should_return_created_company_when_create_given_a_company_without_employees() {
+        //given
+        Company expected = new Company("OOCL", new ArrayList<>());
+        when(companyRepository.save(expected)).thenReturn(Mono.just(expected));
+
+        //when
+        //then
+        StepVerifier.create(companyService.createCompany(expected))
+                .expectNext(expected)
+                .verifyComplete();
+        verify(employeeService, never()).getMissingEmployeesId(any());
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_create_given_a_company_with_employee_id_not_exists() {
+        //given
+        List<String> employeesId = Collections.singletonList("123");
+        when(employeeService.getMissingEmployeesId(employeesId)).thenReturn(Mono.just(employeesId));
+
+        //when
+        //then
+        StepVerifier.create(companyService.createCompany(new Company("OOCL", employeesId)))
+                .expectErrorMatches(error -> error instanceof EmployeeNotFoundException
+                        && employeesId.equals(((EmployeeNotFoundException) error).getMissingEmployeesId()))
+                .verify();
+        verify(companyRepository, never()).save(any());
+    }
+
+    @Test
+    void should_return_company_not_found_exception_when_update_company_given_company_deleted_before_replace() {
+        //given
+        Company company = new Company("OOCL", new ArrayList<>());
+        when(companyRepository.findById(companyId)).thenReturn(Mono.just(new Company()));
+        when(companyRepository.replace(companyId, company, 0L)).thenReturn(Mono.empty());
+        when(companyRepository.existsById(companyId)).thenReturn(Mono.just(false));
+
+        //when
+        //then
+        StepVerifier.create(companyService.updateCompany(companyId, company, 0L))
+                .expectError(CompanyNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void should_replace_as_version_zero_when_update_company_given_a_company_without_version() {
+        //given
+        Company expected = new Company("OOCL", new ArrayList<>());
+        when(companyRepository.findById(companyId)).thenReturn(Mono.just(new Company()));
+        when(companyRepository.replace(companyId, expected, 0L)).thenReturn(Mono.just(expected));
+
+        //when
+        //then
+        StepVerifier.create(companyService.updateCompany(companyId, expected, 0L))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+}
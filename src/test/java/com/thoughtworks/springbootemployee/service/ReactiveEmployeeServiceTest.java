@@ -0,0 +1,129 @@
+package com.thoughtworks.springbootemployee.service;
+
+import com.thoughtworks.springbootemployee.exception.EmployeeNotFoundException;
+import com.thoughtworks.springbootemployee.model.Employee;
+import com.thoughtworks.springbootemployee.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTest {
+    @InjectMocks
+    ReactiveEmployeeService employeeService;
+
+    @Mock
+    ReactiveEmployeeRepository employeeRepository;
+
+    private final String employeeId = "1";
+
+    @Test
+    void should_return_employee_not_found_exception_when_get_employee_given_a_wrong_employee() {
+        //given
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.empty());
+
+        //when
+        //then
+        StepVerifier.create(employeeService.getEmployee(employeeId))
+                .expectErrorMatches(error -> error instanceof EmployeeNotFoundException && "Employee Not Found.".equals(error.getMessage()))
+                .verify();
+    }
+
+    @Test
+    void should_return_employees_in_requested_order_when_get_employees_by_id_given_employee_ids() {
+        //given
+        Employee theo = new Employee("Theo", 18, "male", 50000);
+        theo.setId("1");
+        Employee linne = new Employee("Linne", 18, "female", 50000);
+        linne.setId("2");
+        List<String> employeesId = Arrays.asList("2", "3", "1");
+        when(employeeRepository.findAllById(employeesId)).thenReturn(Flux.just(theo, linne));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.getEmployeesById(employeesId))
+                .expectNext(linne, theo)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_missing_employee_ids_when_get_missing_employees_id_given_some_employees_not_exist() {
+        //given
+        List<String> employeesId = Arrays.asList("1", "2", "3", "1");
+        when(employeeRepository.findExistingIds(employeesId)).thenReturn(Flux.just("2"));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.getMissingEmployeesId(employeesId))
+                .expectNext(Arrays.asList("1", "3"))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_optimistic_locking_failure_exception_when_update_employee_given_a_stale_version() {
+        //given
+        Employee current = new Employee();
+        current.setVersion(2L);
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.just(current));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.updateEmployee(employeeId, new Employee(), 1L))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        verify(employeeRepository, never()).replace(any(), any(), anyLong());
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_update_employee_given_employee_deleted_before_replace() {
+        //given
+        Employee employee = new Employee("Theo", 22, "male", 50000);
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.just(new Employee()));
+        when(employeeRepository.replace(employeeId, employee, 0L)).thenReturn(Mono.empty());
+        when(employeeRepository.existsById(employeeId)).thenReturn(Mono.just(false));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.updateEmployee(employeeId, employee, 0L))
+                .expectError(EmployeeNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void should_replace_as_version_zero_when_update_employee_given_an_employee_without_version() {
+        //given
+        Employee employee = new Employee("Theo", 22, "male", 50000);
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.just(new Employee()));
+        when(employeeRepository.replace(employeeId, employee, 0L)).thenReturn(Mono.just(employee));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.updateEmployee(employeeId, employee, 0L))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_return_employee_not_found_exception_when_delete_employee_given_a_wrong_employee_id() {
+        //given
+        when(employeeRepository.existsById(employeeId)).thenReturn(Mono.just(false));
+
+        //when
+        //then
+        StepVerifier.create(employeeService.deleteEmployee(employeeId))
+                .expectError(EmployeeNotFoundException.class)
+                .verify();
+        verify(employeeRepository, never()).deleteById(employeeId);
+    }
+}